@@ -0,0 +1,169 @@
+package com.example.taskmanager.shared;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public final class EventLog {
+
+  public static final String CATEGORY_PREFIX = "events.";
+
+  private final Logger logger;
+
+  private EventLog(Logger logger) {
+    this.logger = logger;
+  }
+
+  public static EventLog of(String category) {
+    return new EventLog(LoggerFactory.getLogger(CATEGORY_PREFIX + category));
+  }
+
+  public boolean isDebugEnabled() {
+    return logger.isDebugEnabled();
+  }
+
+  public boolean isInfoEnabled() {
+    return logger.isInfoEnabled();
+  }
+
+  public SampledEvent sampled(String event, int rate) {
+    return new SampledEvent(this, event, rate);
+  }
+
+  public void debug(String event) {
+    if (logger.isDebugEnabled()) {
+      logger.debug(format(event));
+    }
+  }
+
+  public void debug(String event, String key, Object value) {
+    if (logger.isDebugEnabled()) {
+      logger.debug(format(event, key, value));
+    }
+  }
+
+  public void debug(String event, String key, long value) {
+    if (logger.isDebugEnabled()) {
+      logger.debug(format(event, key, value));
+    }
+  }
+
+  public void debug(String event, String key1, Object value1, String key2, Object value2) {
+    if (logger.isDebugEnabled()) {
+      logger.debug(format(event, key1, value1, key2, value2));
+    }
+  }
+
+  public void debug(String event, String key1, long value1, String key2, long value2) {
+    if (logger.isDebugEnabled()) {
+      logger.debug(format(event, key1, value1, key2, value2));
+    }
+  }
+
+  public void debug(String event, String key1, Object value1, String key2, long value2) {
+    if (logger.isDebugEnabled()) {
+      logger.debug(format(event, key1, value1, key2, value2));
+    }
+  }
+
+  public void debug(String event, String key1, Object value1, String key2, Object value2, String key3, Object value3) {
+    if (logger.isDebugEnabled()) {
+      logger.debug(format(event, key1, value1, key2, value2, key3, value3));
+    }
+  }
+
+  public void info(String event) {
+    if (logger.isInfoEnabled()) {
+      logger.info(format(event));
+    }
+  }
+
+  public void info(String event, String key, Object value) {
+    if (logger.isInfoEnabled()) {
+      logger.info(format(event, key, value));
+    }
+  }
+
+  public void info(String event, String key, long value) {
+    if (logger.isInfoEnabled()) {
+      logger.info(format(event, key, value));
+    }
+  }
+
+  public void info(String event, String key1, Object value1, String key2, Object value2) {
+    if (logger.isInfoEnabled()) {
+      logger.info(format(event, key1, value1, key2, value2));
+    }
+  }
+
+  public void info(String event, String key1, long value1, String key2, long value2) {
+    if (logger.isInfoEnabled()) {
+      logger.info(format(event, key1, value1, key2, value2));
+    }
+  }
+
+  public void info(String event, String key1, Object value1, String key2, long value2) {
+    if (logger.isInfoEnabled()) {
+      logger.info(format(event, key1, value1, key2, value2));
+    }
+  }
+
+  public void info(String event, String key1, Object value1, String key2, Object value2, String key3, Object value3) {
+    if (logger.isInfoEnabled()) {
+      logger.info(format(event, key1, value1, key2, value2, key3, value3));
+    }
+  }
+
+  public void info(String event, Object... keyValues) {
+    if (logger.isInfoEnabled()) {
+      logger.info(format(event, keyValues));
+    }
+  }
+
+  public void warn(String event, String key, Object value, Throwable throwable) {
+    if (logger.isWarnEnabled()) {
+      logger.warn(format(event, key, value), throwable);
+    }
+  }
+
+  public void warn(String event, String key1, Object value1, String key2, Object value2) {
+    if (logger.isWarnEnabled()) {
+      logger.warn(format(event, key1, value1, key2, value2));
+    }
+  }
+
+  public void warn(String event, String key1, Object value1, String key2, Object value2, String key3, Object value3) {
+    if (logger.isWarnEnabled()) {
+      logger.warn(format(event, key1, value1, key2, value2, key3, value3));
+    }
+  }
+
+  public void error(String event, String key, Object value, Throwable throwable) {
+    if (logger.isErrorEnabled()) {
+      logger.error(format(event, key, value), throwable);
+    }
+  }
+
+  public void error(String event, String key1, Object value1, String key2, Object value2, Throwable throwable) {
+    if (logger.isErrorEnabled()) {
+      logger.error(format(event, key1, value1, key2, value2), throwable);
+    }
+  }
+
+  static String format(String event, Object... keyValues) {
+    var message = new StringBuilder(32 + 16 * keyValues.length).append("event=").append(event);
+    for (var index = 0; index + 1 < keyValues.length; index += 2) {
+      message.append(' ').append(keyValues[index]).append('=');
+      appendValue(message, keyValues[index + 1]);
+    }
+    return message.toString();
+  }
+
+  private static void appendValue(StringBuilder message, Object value) {
+    var text = String.valueOf(value);
+    if (text.isEmpty() || text.indexOf(' ') >= 0 || text.indexOf('"') >= 0 || text.indexOf('=') >= 0) {
+      message.append('"').append(text.replace("\"", "\\\"")).append('"');
+    } else {
+      message.append(text);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.example.taskmanager.shared;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.example.taskmanager.shared.EventLog.CATEGORY_PREFIX;
+
+@RestController
+@RequiredArgsConstructor
+class EventLogLevelsRestController {
+
+  private final LoggingSystem loggingSystem;
+
+  @GetMapping("/logging/events")
+  ResponseEntity<?> readEventLogLevels() {
+    Map<String, String> levels = new TreeMap<>();
+    loggingSystem
+            .getLoggerConfigurations()
+            .stream()
+            .filter(configuration -> configuration.getName().startsWith(CATEGORY_PREFIX))
+            .forEach(configuration -> levels.put(
+                    configuration.getName().substring(CATEGORY_PREFIX.length()),
+                    String.valueOf(configuration.getEffectiveLevel())));
+    return new ResponseEntity<>(levels, HttpStatus.OK);
+  }
+
+  @PutMapping("/logging/events/{category}")
+  ResponseEntity<?> changeEventLogLevel(@PathVariable String category, @RequestParam LogLevel level) {
+    loggingSystem.setLogLevel(CATEGORY_PREFIX + category, level);
+    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+  }
+}
@@ -0,0 +1,25 @@
+package com.example.taskmanager.shared;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class SampledEvent {
+
+  private final EventLog eventLog;
+  private final String event;
+  private final int rate;
+  private final AtomicLong occurrences = new AtomicLong();
+
+  SampledEvent(EventLog eventLog, String event, int rate) {
+    this.eventLog = eventLog;
+    this.event = event;
+    this.rate = Math.max(rate, 1);
+  }
+
+  public void log(String key1, Object value1, String key2, long value2) {
+    if (eventLog.isDebugEnabled()) {
+      eventLog.debug(event, key1, value1, key2, value2);
+    } else if (eventLog.isInfoEnabled() && occurrences.getAndIncrement() % rate == 0) {
+      eventLog.info(event, key1, value1, key2, value2, "sampled", "1/" + rate);
+    }
+  }
+}
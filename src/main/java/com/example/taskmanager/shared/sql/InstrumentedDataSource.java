@@ -0,0 +1,153 @@
+package com.example.taskmanager.shared.sql;
+
+import com.example.taskmanager.shared.trace.LayerEvent;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+class InstrumentedDataSource extends DelegatingDataSource {
+
+  private final SqlStatistics sqlStatistics;
+
+  InstrumentedDataSource(DataSource targetDataSource, SqlStatistics sqlStatistics) {
+    super(targetDataSource);
+    this.sqlStatistics = sqlStatistics;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return instrument(super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return instrument(super.getConnection(username, password));
+  }
+
+  private Connection instrument(Connection connection) {
+    return (Connection) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] {Connection.class},
+            new ConnectionHandler(connection));
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  private static boolean isIdentityMethod(Method method) {
+    return method.getDeclaringClass() == Object.class && !method.getName().equals("toString");
+  }
+
+  private static Object identity(Object proxy, Method method, Object[] args) {
+    return method.getName().equals("equals") ? proxy == args[0] : System.identityHashCode(proxy);
+  }
+
+  private final class ConnectionHandler implements InvocationHandler {
+
+    private final Connection connection;
+
+    ConnectionHandler(Connection connection) {
+      this.connection = connection;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (isIdentityMethod(method)) {
+        return identity(proxy, method, args);
+      }
+      var result = InstrumentedDataSource.invoke(connection, method, args);
+      if (!(result instanceof Statement statement)) {
+        return result;
+      }
+      var sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+      return Proxy.newProxyInstance(
+              getClass().getClassLoader(),
+              new Class<?>[] {method.getReturnType()},
+              new StatementHandler(statement, sql, (Connection) proxy));
+    }
+  }
+
+  private final class StatementHandler implements InvocationHandler {
+
+    private final Statement statement;
+    private final String sql;
+    private final Connection connection;
+    private final Map<Integer, Object> parameters = new TreeMap<>();
+    private int batched;
+
+    StatementHandler(Statement statement, String sql, Connection connection) {
+      this.statement = statement;
+      this.sql = sql;
+      this.connection = connection;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (isIdentityMethod(method)) {
+        return identity(proxy, method, args);
+      }
+      var name = method.getName();
+      if (name.equals("getConnection")) {
+        return connection;
+      }
+      if (sql != null && name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+        parameters.put(index, name.equals("setNull") ? null : args[1]);
+      } else if (name.equals("clearParameters")) {
+        parameters.clear();
+      } else if (name.equals("addBatch")) {
+        batched++;
+      }
+      if (!name.startsWith("execute")) {
+        return InstrumentedDataSource.invoke(statement, method, args);
+      }
+      var executedSql = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+      var batch = batched;
+      var event = LayerEvent.start("database", name);
+      var start = System.nanoTime();
+      try {
+        return InstrumentedDataSource.invoke(statement, method, args);
+      } finally {
+        event.finish();
+        sqlStatistics.record(String.valueOf(executedSql), System.nanoTime() - start, () -> describe(batch));
+        if (name.equals("executeBatch")) {
+          batched = 0;
+        }
+      }
+    }
+
+    private String describe(int batch) {
+      var description = new StringBuilder();
+      parameters.forEach((index, value) -> {
+        description.append(description.length() == 0 ? "" : ", ").append(index).append('=');
+        // Text may hold password hashes or task content, so only its length is logged.
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+          description.append(value);
+        } else if (value instanceof byte[] bytes) {
+          description.append('<').append(bytes.length).append(" bytes>");
+        } else if (value instanceof CharSequence text) {
+          description.append('<').append(text.length()).append(" chars>");
+        } else {
+          description.append('<').append(value.getClass().getSimpleName()).append('>');
+        }
+      });
+      if (batch > 0) {
+        description.append(description.length() == 0 ? "" : ", ").append("batch=").append(batch);
+      }
+      return description.toString();
+    }
+  }
+}
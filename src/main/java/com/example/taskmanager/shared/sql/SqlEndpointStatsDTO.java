@@ -0,0 +1,8 @@
+package com.example.taskmanager.shared.sql;
+
+public record SqlEndpointStatsDTO(
+        String endpoint,
+        long requests,
+        long statements,
+        double meanStatements,
+        long maxStatements) {}
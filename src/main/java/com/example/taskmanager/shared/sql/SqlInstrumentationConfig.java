@@ -0,0 +1,36 @@
+package com.example.taskmanager.shared.sql;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Component
+class SqlInstrumentationConfig {
+
+  @Bean
+  SqlStatistics sqlStatistics(@Value("${sql.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
+    return new SqlStatistics(slowQueryThreshold.toNanos());
+  }
+
+  @Bean
+  SqlStatementCountFilter sqlStatementCountFilter(SqlStatistics sqlStatistics) {
+    return new SqlStatementCountFilter(sqlStatistics);
+  }
+
+  @Bean
+  static BeanPostProcessor instrumentedDataSourcePostProcessor(ObjectProvider<SqlStatistics> sqlStatistics) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)
+                ? new InstrumentedDataSource(dataSource, sqlStatistics.getObject())
+                : bean;
+      }
+    };
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.taskmanager.shared.sql;
+
+import java.util.Map;
+
+public record SqlQueryStatsDTO(
+        String sql,
+        long count,
+        double totalMillis,
+        double meanMillis,
+        double maxMillis,
+        Map<String, Long> latencyHistogram) {}
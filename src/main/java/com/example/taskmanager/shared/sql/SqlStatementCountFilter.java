@@ -0,0 +1,45 @@
+package com.example.taskmanager.shared.sql;
+
+import com.example.taskmanager.shared.EventLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static com.example.taskmanager.shared.sql.SqlStatistics.STATEMENTS_ATTRIBUTE;
+
+@RequiredArgsConstructor
+class SqlStatementCountFilter extends OncePerRequestFilter implements Ordered {
+
+  private static final EventLog EVENTS = EventLog.of("sql");
+
+  private final SqlStatistics sqlStatistics;
+
+  @Override
+  public int getOrder() {
+    return Ordered.HIGHEST_PRECEDENCE;
+  }
+
+  @Override
+  protected void doFilterInternal(
+          HttpServletRequest request,
+          HttpServletResponse response,
+          FilterChain filterChain) throws ServletException, IOException {
+    sqlStatistics.startRequest();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      var endpoint = pattern == null ? null : request.getMethod() + " " + pattern;
+      var statements = sqlStatistics.finishRequest(endpoint);
+      request.setAttribute(STATEMENTS_ATTRIBUTE, statements);
+      EVENTS.debug("sql.request", "endpoint", endpoint, "statements", statements);
+    }
+  }
+}
@@ -0,0 +1,159 @@
+package com.example.taskmanager.shared.sql;
+
+import com.example.taskmanager.shared.EventLog;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class SqlStatistics {
+
+  public static final String STATEMENTS_ATTRIBUTE = "sqlStatements";
+
+  private static final EventLog EVENTS = EventLog.of("sql");
+  private static final long[] BUCKET_MILLIS = {1, 5, 10, 50, 100, 500, 1000};
+  private static final int MAX_TRACKED_QUERIES = 500;
+  private static final String OTHER_QUERIES = "<other>";
+
+  private final Map<String, QueryStats> queries = new ConcurrentHashMap<>();
+  private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+  private final ThreadLocal<long[]> requestStatements = new ThreadLocal<>();
+  private final long slowQueryThresholdNanos;
+
+  SqlStatistics(long slowQueryThresholdNanos) {
+    this.slowQueryThresholdNanos = slowQueryThresholdNanos;
+  }
+
+  void record(String sql, long nanos, Supplier<String> parameters) {
+    var statements = requestStatements.get();
+    if (statements != null) {
+      statements[0]++;
+    }
+    queryStats(sql).record(nanos);
+    if (nanos >= slowQueryThresholdNanos) {
+      EVENTS.warn("sql.slow",
+              "millis", TimeUnit.NANOSECONDS.toMillis(nanos),
+              "sql", sql,
+              "parameters", parameters.get());
+    }
+  }
+
+  void startRequest() {
+    requestStatements.set(new long[1]);
+  }
+
+  long finishRequest(String endpoint) {
+    var statements = requestStatements.get();
+    requestStatements.remove();
+    var result = statements == null ? 0 : statements[0];
+    if (endpoint != null) {
+      endpoints.computeIfAbsent(endpoint, key -> new EndpointStats()).record(result);
+    }
+    return result;
+  }
+
+  SqlStatsDTO stats() {
+    var endpointStats = endpoints
+            .entrySet()
+            .stream()
+            .map(entry -> entry.getValue().toDTO(entry.getKey()))
+            .sorted(Comparator.comparingDouble(SqlEndpointStatsDTO::meanStatements).reversed())
+            .collect(Collectors.toList());
+    var queryStats = queries
+            .entrySet()
+            .stream()
+            .map(entry -> entry.getValue().toDTO(entry.getKey()))
+            .sorted(Comparator.comparingDouble(SqlQueryStatsDTO::totalMillis).reversed())
+            .collect(Collectors.toList());
+    return new SqlStatsDTO(endpointStats, queryStats);
+  }
+
+  void reset() {
+    endpoints.clear();
+    queries.clear();
+  }
+
+  private QueryStats queryStats(String sql) {
+    var stats = queries.get(sql);
+    if (stats != null) {
+      return stats;
+    }
+    var key = queries.size() < MAX_TRACKED_QUERIES ? sql : OTHER_QUERIES;
+    return queries.computeIfAbsent(key, query -> new QueryStats());
+  }
+
+  private static class QueryStats {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder[] buckets = new LongAdder[BUCKET_MILLIS.length + 1];
+
+    QueryStats() {
+      for (var index = 0; index < buckets.length; index++) {
+        buckets[index] = new LongAdder();
+      }
+    }
+
+    void record(long nanos) {
+      count.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulateAndGet(nanos, Math::max);
+      var millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+      var bucket = 0;
+      while (bucket < BUCKET_MILLIS.length && millis >= BUCKET_MILLIS[bucket]) {
+        bucket++;
+      }
+      buckets[bucket].increment();
+    }
+
+    SqlQueryStatsDTO toDTO(String sql) {
+      var executions = count.sum();
+      var total = totalNanos.sum() / 1e6;
+      var histogram = new LinkedHashMap<String, Long>();
+      for (var index = 0; index < buckets.length; index++) {
+        var label = index < BUCKET_MILLIS.length
+                ? "<" + BUCKET_MILLIS[index] + "ms"
+                : ">=" + BUCKET_MILLIS[BUCKET_MILLIS.length - 1] + "ms";
+        histogram.put(label, buckets[index].sum());
+      }
+      return new SqlQueryStatsDTO(
+              sql,
+              executions,
+              total,
+              executions == 0 ? 0 : total / executions,
+              maxNanos.get() / 1e6,
+              histogram);
+    }
+  }
+
+  private static class EndpointStats {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final AtomicLong maxStatements = new AtomicLong();
+
+    void record(long requestStatements) {
+      requests.increment();
+      statements.add(requestStatements);
+      maxStatements.accumulateAndGet(requestStatements, Math::max);
+    }
+
+    SqlEndpointStatsDTO toDTO(String endpoint) {
+      var requestCount = requests.sum();
+      var statementCount = statements.sum();
+      return new SqlEndpointStatsDTO(
+              endpoint,
+              requestCount,
+              statementCount,
+              requestCount == 0 ? 0 : (double) statementCount / requestCount,
+              maxStatements.get());
+    }
+  }
+}
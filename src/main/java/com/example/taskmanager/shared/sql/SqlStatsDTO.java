@@ -0,0 +1,5 @@
+package com.example.taskmanager.shared.sql;
+
+import java.util.List;
+
+public record SqlStatsDTO(List<SqlEndpointStatsDTO> endpoints, List<SqlQueryStatsDTO> queries) {}
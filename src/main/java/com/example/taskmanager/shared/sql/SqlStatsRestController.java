@@ -0,0 +1,26 @@
+package com.example.taskmanager.shared.sql;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+class SqlStatsRestController {
+
+  private final SqlStatistics sqlStatistics;
+
+  @GetMapping("/sql/stats")
+  ResponseEntity<?> readSqlStats() {
+    return new ResponseEntity<>(sqlStatistics.stats(), HttpStatus.OK);
+  }
+
+  @DeleteMapping("/sql/stats")
+  ResponseEntity<?> resetSqlStats() {
+    sqlStatistics.reset();
+    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+  }
+}
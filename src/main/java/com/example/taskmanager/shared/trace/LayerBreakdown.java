@@ -0,0 +1,134 @@
+package com.example.taskmanager.shared.trace;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+public final class LayerBreakdown {
+
+  private LayerBreakdown() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.err.println("usage: LayerBreakdown <recording.jfr> [endpoint]");
+      System.exit(2);
+    }
+    print(of(Path.of(args[0]), args.length > 1 ? args[1] : null), System.out);
+  }
+
+  public static List<LayerStatsDTO> of(Path recording, String endpoint) throws IOException {
+    var eventsByThread = new HashMap<Long, List<Span>>();
+    for (var event : RecordingFile.readAllEvents(recording)) {
+      if (event.getEventType().getName().equals(LayerEvent.NAME) && event.getThread() != null) {
+        eventsByThread
+                .computeIfAbsent(event.getThread().getJavaThreadId(), thread -> new ArrayList<>())
+                .add(new Span(event));
+      }
+    }
+    var stats = new HashMap<String, Stats>();
+    eventsByThread.values().forEach(spans -> {
+      computeSelfTimes(spans);
+      spans
+              .stream()
+              .filter(span -> endpoint == null || endpoint.equals(span.endpoint))
+              .forEach(span -> stats.computeIfAbsent(span.layer, layer -> new Stats()).add(span));
+    });
+    var selfNanos = stats.values().stream().mapToLong(layerStats -> layerStats.selfNanos).sum();
+    return stats
+            .entrySet()
+            .stream()
+            .map(entry -> entry.getValue().toDTO(entry.getKey(), selfNanos))
+            .sorted(Comparator.comparingDouble(LayerStatsDTO::selfMillis).reversed())
+            .collect(Collectors.toList());
+  }
+
+  public static void print(List<LayerStatsDTO> breakdown, PrintStream out) {
+    out.printf(Locale.ROOT, "%-18s %8s %12s %12s %7s %10s%n", "layer", "count", "total ms", "self ms", "self %", "max ms");
+    breakdown.forEach(layer -> out.printf(
+            Locale.ROOT,
+            "%-18s %8d %12.2f %12.2f %6.1f%% %10.2f%n",
+            layer.layer(),
+            layer.count(),
+            layer.totalMillis(),
+            layer.selfMillis(),
+            layer.selfShare() * 100,
+            layer.maxMillis()));
+  }
+
+  private static void computeSelfTimes(List<Span> spans) {
+    spans.sort(Comparator
+            .comparing((Span span) -> span.start)
+            .thenComparing(span -> span.end, Comparator.reverseOrder()));
+    var open = new ArrayDeque<Span>();
+    for (var span : spans) {
+      while (!open.isEmpty() && !open.peek().end.isAfter(span.start)) {
+        open.pop();
+      }
+      if (!open.isEmpty()) {
+        open.peek().childNanos += span.nanos;
+      }
+      open.push(span);
+    }
+  }
+
+  private static final class Span {
+
+    private final String layer;
+    private final String endpoint;
+    private final Instant start;
+    private final Instant end;
+    private final long nanos;
+    private long childNanos;
+
+    Span(RecordedEvent event) {
+      this.layer = Objects.requireNonNullElse(event.getString("layer"), "unknown");
+      this.endpoint = event.getString("endpoint");
+      this.start = event.getStartTime();
+      this.end = event.getEndTime();
+      this.nanos = event.getDuration().toNanos();
+    }
+  }
+
+  private static final class Stats {
+
+    private long count;
+    private long totalNanos;
+    private long selfNanos;
+    private long maxNanos;
+
+    void add(Span span) {
+      count++;
+      totalNanos += span.nanos;
+      selfNanos += Math.max(span.nanos - span.childNanos, 0);
+      maxNanos = Math.max(maxNanos, span.nanos);
+    }
+
+    LayerStatsDTO toDTO(String layer, long allSelfNanos) {
+      return new LayerStatsDTO(
+              layer,
+              count,
+              millis(totalNanos),
+              millis(selfNanos),
+              allSelfNanos == 0 ? 0 : (double) selfNanos / allSelfNanos,
+              millis(maxNanos));
+    }
+
+    private static double millis(long nanos) {
+      return nanos / 1e6;
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.example.taskmanager.shared.trace;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+
+final class LayerContext {
+
+  private static final String USERNAME_ATTRIBUTE = LayerContext.class.getName() + ".username";
+  private static final ThreadLocal<HttpServletRequest> REQUEST = new ThreadLocal<>();
+
+  private LayerContext() {
+  }
+
+  static void enter(HttpServletRequest request) {
+    REQUEST.set(request);
+  }
+
+  static void exit() {
+    REQUEST.remove();
+  }
+
+  static String endpoint() {
+    var request = REQUEST.get();
+    if (request == null) {
+      return null;
+    }
+    var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+  }
+
+  static String username() {
+    var request = REQUEST.get();
+    var authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null
+            && authentication.isAuthenticated()
+            && !(authentication instanceof AnonymousAuthenticationToken)) {
+      if (request != null) {
+        request.setAttribute(USERNAME_ATTRIBUTE, authentication.getName());
+      }
+      return authentication.getName();
+    }
+    return request == null ? null : (String) request.getAttribute(USERNAME_ATTRIBUTE);
+  }
+}
@@ -0,0 +1,55 @@
+package com.example.taskmanager.shared.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(LayerEvent.NAME)
+@Label("Layer")
+@Category("Task Manager")
+@Description("Time spent in one application layer while serving a request")
+@StackTrace(false)
+public class LayerEvent extends Event {
+
+  public static final String NAME = "taskmanager.Layer";
+
+  private static final LayerEvent DISABLED = new LayerEvent();
+
+  @Label("Layer")
+  String layer;
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Endpoint")
+  String endpoint;
+
+  @Label("User")
+  String username;
+
+  public static LayerEvent start(String layer, String operation) {
+    if (!DISABLED.isEnabled()) {
+      return DISABLED;
+    }
+    var event = new LayerEvent();
+    event.layer = layer;
+    event.operation = operation;
+    event.begin();
+    return event;
+  }
+
+  public void finish() {
+    if (this == DISABLED) {
+      return;
+    }
+    end();
+    if (shouldCommit()) {
+      endpoint = LayerContext.endpoint();
+      username = LayerContext.username();
+      commit();
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package com.example.taskmanager.shared.trace;
+
+public record LayerStatsDTO(
+        String layer,
+        long count,
+        double totalMillis,
+        double selfMillis,
+        double selfShare,
+        double maxMillis) {}
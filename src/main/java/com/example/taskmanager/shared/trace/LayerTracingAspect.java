@@ -0,0 +1,41 @@
+package com.example.taskmanager.shared.trace;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+class LayerTracingAspect {
+
+  @Around("@within(org.springframework.web.bind.annotation.RestController)")
+  Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+    return trace("controller", joinPoint);
+  }
+
+  @Around("execution(public * com.example.taskmanager..domain.*Facade.*(..))")
+  Object traceFacade(ProceedingJoinPoint joinPoint) throws Throwable {
+    return trace("facade", joinPoint);
+  }
+
+  @Around("execution(* com.example.taskmanager.task.domain.TaskRepository.*(..))"
+          + " || execution(* com.example.taskmanager.user.domain.UserRepository.*(..))")
+  Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+    return trace("repository", joinPoint);
+  }
+
+  @Around("execution(* org.springframework.security.crypto.password.PasswordEncoder.*(..))")
+  Object tracePasswordEncoder(ProceedingJoinPoint joinPoint) throws Throwable {
+    return trace("password-hashing", joinPoint);
+  }
+
+  private static Object trace(String layer, ProceedingJoinPoint joinPoint) throws Throwable {
+    var event = LayerEvent.start(layer, joinPoint.getSignature().getName());
+    try {
+      return joinPoint.proceed();
+    } finally {
+      event.finish();
+    }
+  }
+}
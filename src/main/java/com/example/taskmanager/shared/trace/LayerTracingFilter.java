@@ -0,0 +1,35 @@
+package com.example.taskmanager.shared.trace;
+
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Component
+class LayerTracingFilter extends OncePerRequestFilter implements Ordered {
+
+  @Override
+  public int getOrder() {
+    return Ordered.HIGHEST_PRECEDENCE;
+  }
+
+  @Override
+  protected void doFilterInternal(
+          HttpServletRequest request,
+          HttpServletResponse response,
+          FilterChain filterChain) throws ServletException, IOException {
+    LayerContext.enter(request);
+    var event = LayerEvent.start("http", request.getMethod());
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      event.finish();
+      LayerContext.exit();
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package com.example.taskmanager.snapshot.domain;
+
+import com.example.taskmanager.task.domain.dto.TaskPriorityDTO;
+import com.example.taskmanager.task.domain.dto.TaskSnapshotDTO;
+import com.example.taskmanager.task.domain.dto.TaskStatusDTO;
+import com.example.taskmanager.user.domain.dto.UserRoleDTO;
+import com.example.taskmanager.user.domain.dto.UserSnapshotDTO;
+import com.example.taskmanager.user.domain.dto.UserStatusDTO;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static com.example.taskmanager.snapshot.domain.SnapshotFormat.*;
+
+class BinarySnapshotReader {
+
+  private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+  private final FileChannel channel;
+  private final long size;
+  private MappedByteBuffer buffer;
+  private long windowStart;
+
+  BinarySnapshotReader(FileChannel channel) throws IOException {
+    this.channel = channel;
+    this.size = channel.size();
+    map(0, 0);
+    ensure(MAGIC.length + Short.BYTES);
+    var magic = new byte[MAGIC.length];
+    buffer.get(magic);
+    if (!Arrays.equals(magic, MAGIC)) {
+      throw new SnapshotFormatException("Not a snapshot file");
+    }
+    var version = buffer.getShort();
+    if (version != VERSION) {
+      throw new SnapshotFormatException("Unsupported snapshot version " + version);
+    }
+  }
+
+  void read(Consumer<UserSnapshotDTO> userAction, Consumer<TaskSnapshotDTO> taskAction) throws IOException {
+    var users = 0L;
+    var tasks = 0L;
+    while (true) {
+      ensure(RECORD_HEADER_SIZE);
+      var type = buffer.get();
+      var recordSize = buffer.getInt();
+      if (recordSize < 0 || recordSize > MAX_RECORD_SIZE) {
+        throw new SnapshotFormatException("Invalid record size " + recordSize);
+      }
+      ensure(recordSize);
+      var recordEnd = buffer.position() + recordSize;
+      switch (type) {
+        case USER_RECORD -> {
+          userAction.accept(readUser());
+          users++;
+        }
+        case TASK_RECORD -> {
+          taskAction.accept(readTask());
+          tasks++;
+        }
+        case END_RECORD -> {
+          var expectedUsers = buffer.getLong();
+          var expectedTasks = buffer.getLong();
+          if (expectedUsers != users || expectedTasks != tasks) {
+            throw new SnapshotFormatException("Snapshot declares " + expectedUsers + " users and "
+                    + expectedTasks + " tasks but contains " + users + " and " + tasks);
+          }
+          return;
+        }
+        default -> {
+        }
+      }
+      if (buffer.position() > recordEnd) {
+        throw new SnapshotFormatException("Record overruns its declared size");
+      }
+      buffer.position(recordEnd);
+    }
+  }
+
+  private UserSnapshotDTO readUser() throws SnapshotFormatException {
+    return new UserSnapshotDTO(
+            getUuid(),
+            getString(),
+            getString(),
+            getEnum(UserRoleDTO.values()),
+            getEnum(UserStatusDTO.values()),
+            getInstant());
+  }
+
+  private TaskSnapshotDTO readTask() throws SnapshotFormatException {
+    return new TaskSnapshotDTO(
+            getUuid(),
+            buffer.getLong(),
+            getString(),
+            getEnum(TaskPriorityDTO.values()),
+            getEnum(TaskStatusDTO.values()),
+            getInstant(),
+            getString(),
+            buffer.getLong());
+  }
+
+  private void ensure(int bytes) throws IOException {
+    if (buffer.remaining() >= bytes) {
+      return;
+    }
+    var position = windowStart + buffer.position();
+    if (position + bytes > size) {
+      throw new SnapshotFormatException("Snapshot is truncated at byte " + position);
+    }
+    map(position, bytes);
+  }
+
+  private void map(long position, int minimumSize) throws IOException {
+    windowStart = position;
+    var windowSize = Math.min(Math.max(WINDOW_SIZE, minimumSize), size - position);
+    buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+  }
+
+  private UUID getUuid() {
+    var mostSignificantBits = buffer.getLong();
+    var leastSignificantBits = buffer.getLong();
+    return mostSignificantBits == 0 && leastSignificantBits == 0
+            ? null
+            : new UUID(mostSignificantBits, leastSignificantBits);
+  }
+
+  private String getString() throws SnapshotFormatException {
+    var length = buffer.getInt();
+    if (length == NULL_LENGTH) {
+      return null;
+    }
+    if (length < 0 || length > buffer.remaining()) {
+      throw new SnapshotFormatException("Invalid string length " + length);
+    }
+    var bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private <E extends Enum<E>> E getEnum(E[] values) throws SnapshotFormatException {
+    var ordinal = buffer.get();
+    if (ordinal == NULL_ENUM) {
+      return null;
+    }
+    if (ordinal < 0 || ordinal >= values.length) {
+      throw new SnapshotFormatException("Invalid enum value " + ordinal);
+    }
+    return values[ordinal];
+  }
+
+  private Instant getInstant() {
+    var epochMilli = buffer.getLong();
+    return epochMilli == NULL_INSTANT ? null : Instant.ofEpochMilli(epochMilli);
+  }
+}
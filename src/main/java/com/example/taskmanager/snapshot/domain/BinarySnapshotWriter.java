@@ -0,0 +1,123 @@
+package com.example.taskmanager.snapshot.domain;
+
+import com.example.taskmanager.task.domain.dto.TaskSnapshotDTO;
+import com.example.taskmanager.user.domain.dto.UserSnapshotDTO;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import static com.example.taskmanager.snapshot.domain.SnapshotFormat.*;
+
+class BinarySnapshotWriter {
+
+  private static final int BUFFER_SIZE = 1024 * 1024;
+  private static final int UUID_SIZE = 2 * Long.BYTES;
+
+  private final FileChannel channel;
+  private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+  private long users;
+  private long tasks;
+
+  BinarySnapshotWriter(FileChannel channel) {
+    this.channel = channel;
+    buffer.put(MAGIC).putShort(VERSION);
+  }
+
+  void write(UserSnapshotDTO user) throws IOException {
+    var username = bytes(user.username());
+    var password = bytes(user.password());
+    begin(USER_RECORD, UUID_SIZE + sizeOf(username) + sizeOf(password) + 2 + Long.BYTES);
+    putUuid(user.uuid());
+    putBytes(username);
+    putBytes(password);
+    putEnum(user.role());
+    putEnum(user.status());
+    putInstant(user.creationDate());
+    users++;
+  }
+
+  void write(TaskSnapshotDTO task) throws IOException {
+    var content = bytes(task.content());
+    var ownerUsername = bytes(task.ownerUsername());
+    begin(TASK_RECORD, UUID_SIZE + Long.BYTES + sizeOf(content) + 2 + Long.BYTES + sizeOf(ownerUsername) + Long.BYTES);
+    putUuid(task.uuid());
+    buffer.putLong(task.id());
+    putBytes(content);
+    putEnum(task.priority());
+    putEnum(task.status());
+    putInstant(task.creationDate());
+    putBytes(ownerUsername);
+    buffer.putLong(task.version() == null ? 0 : task.version());
+    tasks++;
+  }
+
+  long users() {
+    return users;
+  }
+
+  long tasks() {
+    return tasks;
+  }
+
+  void finish() throws IOException {
+    begin(END_RECORD, 2 * Long.BYTES);
+    buffer.putLong(users).putLong(tasks);
+    flush();
+    channel.force(false);
+  }
+
+  private void begin(byte type, int size) throws IOException {
+    if (size > MAX_RECORD_SIZE) {
+      throw new SnapshotFormatException("Record of " + size + " bytes is too large");
+    }
+    if (buffer.remaining() < RECORD_HEADER_SIZE + size) {
+      flush();
+      if (buffer.capacity() < RECORD_HEADER_SIZE + size) {
+        buffer = ByteBuffer.allocateDirect(RECORD_HEADER_SIZE + size);
+      }
+    }
+    buffer.put(type).putInt(size);
+  }
+
+  private void flush() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  private void putUuid(UUID uuid) {
+    buffer
+            .putLong(uuid == null ? 0 : uuid.getMostSignificantBits())
+            .putLong(uuid == null ? 0 : uuid.getLeastSignificantBits());
+  }
+
+  private void putBytes(byte[] value) {
+    if (value == null) {
+      buffer.putInt(NULL_LENGTH);
+    } else {
+      buffer.putInt(value.length).put(value);
+    }
+  }
+
+  private void putEnum(Enum<?> value) {
+    buffer.put(value == null ? NULL_ENUM : (byte) value.ordinal());
+  }
+
+  private void putInstant(Instant value) {
+    buffer.putLong(value == null ? NULL_INSTANT : value.toEpochMilli());
+  }
+
+  private static byte[] bytes(String value) {
+    return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static int sizeOf(byte[] value) {
+    return Integer.BYTES + (value == null ? 0 : value.length);
+  }
+}
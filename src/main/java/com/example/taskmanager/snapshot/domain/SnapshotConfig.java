@@ -0,0 +1,30 @@
+package com.example.taskmanager.snapshot.domain;
+
+import com.example.taskmanager.task.domain.TaskFacade;
+import com.example.taskmanager.user.domain.UserFacade;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+
+@Component
+class SnapshotConfig {
+
+  @Bean
+  SnapshotFacade snapshotFacade(
+          UserFacade userFacade,
+          TaskFacade taskFacade,
+          @Value("${snapshots.directory:snapshots}") Path directory,
+          @Value("${snapshots.restore.chunk-size:5000}") int restoreChunkSize,
+          PlatformTransactionManager transactionManager) {
+    return new SnapshotFacade(
+            userFacade,
+            taskFacade,
+            directory,
+            Math.max(restoreChunkSize, 1),
+            new TransactionTemplate(transactionManager));
+  }
+}
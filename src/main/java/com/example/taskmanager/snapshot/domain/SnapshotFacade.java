@@ -0,0 +1,199 @@
+package com.example.taskmanager.snapshot.domain;
+
+import com.example.taskmanager.shared.EventLog;
+import com.example.taskmanager.snapshot.domain.dto.RestoredSnapshotDTO;
+import com.example.taskmanager.snapshot.domain.dto.SnapshotDTO;
+import com.example.taskmanager.snapshot.domain.error.SnapshotConflictError;
+import com.example.taskmanager.snapshot.domain.error.InvalidSnapshotError;
+import com.example.taskmanager.snapshot.domain.error.SnapshotError;
+import com.example.taskmanager.snapshot.domain.error.SnapshotIOError;
+import com.example.taskmanager.snapshot.domain.error.SnapshotNotFoundError;
+import com.example.taskmanager.task.domain.TaskFacade;
+import com.example.taskmanager.task.domain.dto.TaskSnapshotDTO;
+import com.example.taskmanager.user.domain.UserFacade;
+import com.example.taskmanager.user.domain.dto.UserSnapshotDTO;
+import io.vavr.control.Either;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static com.example.taskmanager.snapshot.domain.SnapshotFormat.FILE_EXTENSION;
+
+@RequiredArgsConstructor
+public class SnapshotFacade {
+
+  private static final EventLog EVENTS = EventLog.of("snapshot.facade");
+
+  private static final Pattern SNAPSHOT_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+
+  private final UserFacade userFacade;
+  private final TaskFacade taskFacade;
+  private final Path directory;
+  private final int restoreChunkSize;
+  private final TransactionTemplate restoreTransaction;
+
+  public Either<SnapshotError, SnapshotDTO> createSnapshot() {
+    var start = System.nanoTime();
+    var name = "snapshot-" + Instant.now().toEpochMilli() + FILE_EXTENSION;
+    var target = directory.resolve(name).toAbsolutePath();
+    Path temporary = null;
+    try {
+      Files.createDirectories(target.getParent());
+      temporary = Files.createTempFile(target.getParent(), "snapshot-", ".tmp");
+      BinarySnapshotWriter writer;
+      try (var channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+        writer = new BinarySnapshotWriter(channel);
+        userFacade.forEachUserSnapshot(user -> {
+          try {
+            writer.write(user);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+        taskFacade.forEachTaskSnapshot(task -> {
+          try {
+            writer.write(task);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+        writer.finish();
+      }
+      move(temporary, target);
+      var result = new SnapshotDTO(name, writer.users(), writer.tasks(), Files.size(target), millisSince(start));
+      if (EVENTS.isInfoEnabled()) {
+        EVENTS.info("snapshot.created",
+                "name", result.name(),
+                "users", result.users(),
+                "tasks", result.tasks(),
+                "bytes", result.bytes(),
+                "millis", result.millis());
+      }
+      return Either.right(result);
+    } catch (IOException | UncheckedIOException e) {
+      EVENTS.error("snapshot.save.failed", "path", target, e);
+      deleteIfExists(temporary);
+      return Either.left(new SnapshotIOError(name));
+    }
+  }
+
+  public Either<SnapshotError, RestoredSnapshotDTO> restoreSnapshot(String name) {
+    EVENTS.debug("snapshot.restore", "name", name);
+    var start = System.nanoTime();
+    if (!SNAPSHOT_NAME.matcher(name).matches() || !Files.isRegularFile(directory.resolve(name))) {
+      return Either.<SnapshotError, RestoredSnapshotDTO>left(new SnapshotNotFoundError(name))
+              .peekLeft(error -> EVENTS.info("snapshot.restore.rejected", "error", error.getMessage()));
+    }
+    var file = directory.resolve(name);
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      new BinarySnapshotReader(channel).read(user -> {}, task -> {});
+      var reader = new BinarySnapshotReader(channel);
+      var restored = restoreTransaction.execute(status -> restore(reader));
+      var result = new RestoredSnapshotDTO(name, restored[0], restored[1], millisSince(start));
+      if (EVENTS.isInfoEnabled()) {
+        EVENTS.info("snapshot.restored",
+                "name", result.name(),
+                "users", result.users(),
+                "tasks", result.tasks(),
+                "millis", result.millis());
+      }
+      return Either.right(result);
+    } catch (SnapshotFormatException | BufferUnderflowException e) {
+      var invalidSnapshotError = new InvalidSnapshotError(name, String.valueOf(e.getMessage()));
+      return Either.<SnapshotError, RestoredSnapshotDTO>left(invalidSnapshotError)
+              .peekLeft(error -> EVENTS.info("snapshot.restore.rejected", "error", error.getMessage()));
+    } catch (SnapshotRestoreConflictException | DataIntegrityViolationException e) {
+      return Either.<SnapshotError, RestoredSnapshotDTO>left(new SnapshotConflictError(name, String.valueOf(e.getMessage())))
+              .peekLeft(error -> EVENTS.info("snapshot.restore.rejected", "error", error.getMessage()));
+    } catch (IOException | UncheckedIOException e) {
+      EVENTS.error("snapshot.read.failed", "path", file, e);
+      return Either.left(new SnapshotIOError(name));
+    }
+  }
+
+  // Runs inside one transaction, so a failure part-way leaves the database as it was.
+  private long[] restore(BinarySnapshotReader reader) {
+    var restored = new long[2];
+    var users = new ArrayList<UserSnapshotDTO>(restoreChunkSize);
+    var tasks = new ArrayList<TaskSnapshotDTO>(restoreChunkSize);
+    try {
+      reader.read(
+              user -> {
+                users.add(user);
+                if (users.size() == restoreChunkSize) {
+                  restored[0] += restoreUsers(users);
+                }
+              },
+              task -> {
+                restored[0] += restoreUsers(users);
+                tasks.add(task);
+                if (tasks.size() == restoreChunkSize) {
+                  restored[1] += restoreTasks(tasks);
+                }
+              });
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    restored[0] += restoreUsers(users);
+    restored[1] += restoreTasks(tasks);
+    return restored;
+  }
+
+  private int restoreUsers(List<UserSnapshotDTO> users) {
+    if (users.isEmpty()) {
+      return 0;
+    }
+    var restored = userFacade.restoreUsers(users);
+    users.clear();
+    return restored;
+  }
+
+  private int restoreTasks(List<TaskSnapshotDTO> tasks) {
+    if (tasks.isEmpty()) {
+      return 0;
+    }
+    var restored = taskFacade
+            .restoreTasks(tasks)
+            .getOrElseThrow(error -> new SnapshotRestoreConflictException(error.getMessage()));
+    tasks.clear();
+    return restored;
+  }
+
+  private static long millisSince(long start) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
+  private static void move(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static void deleteIfExists(Path file) {
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      EVENTS.warn("snapshot.file.delete.failed", "path", file, e);
+    }
+  }
+}
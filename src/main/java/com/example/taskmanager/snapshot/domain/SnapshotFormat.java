@@ -0,0 +1,23 @@
+package com.example.taskmanager.snapshot.domain;
+
+import java.nio.charset.StandardCharsets;
+
+final class SnapshotFormat {
+
+  static final byte[] MAGIC = "TMSNAP".getBytes(StandardCharsets.US_ASCII);
+  static final short VERSION = 1;
+  static final String FILE_EXTENSION = ".tmsnap";
+
+  static final byte END_RECORD = 0;
+  static final byte USER_RECORD = 1;
+  static final byte TASK_RECORD = 2;
+
+  static final int RECORD_HEADER_SIZE = Byte.BYTES + Integer.BYTES;
+  static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+  static final int NULL_LENGTH = -1;
+  static final byte NULL_ENUM = -1;
+  static final long NULL_INSTANT = Long.MIN_VALUE;
+
+  private SnapshotFormat() {
+  }
+}
@@ -0,0 +1,10 @@
+package com.example.taskmanager.snapshot.domain;
+
+import java.io.IOException;
+
+class SnapshotFormatException extends IOException {
+
+  SnapshotFormatException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package com.example.taskmanager.snapshot.domain;
+
+class SnapshotRestoreConflictException extends RuntimeException {
+
+  SnapshotRestoreConflictException(String message) {
+    super(message);
+  }
+}
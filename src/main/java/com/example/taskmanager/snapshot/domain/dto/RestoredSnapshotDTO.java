@@ -0,0 +1,3 @@
+package com.example.taskmanager.snapshot.domain.dto;
+
+public record RestoredSnapshotDTO(String name, long users, long tasks, long millis) {}
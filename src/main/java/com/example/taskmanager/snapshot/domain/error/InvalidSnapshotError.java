@@ -0,0 +1,8 @@
+package com.example.taskmanager.snapshot.domain.error;
+
+public class InvalidSnapshotError extends SnapshotError {
+
+  public InvalidSnapshotError(String snapshotName, String reason) {
+    super("Invalid snapshot " + snapshotName + ": " + reason);
+  }
+}
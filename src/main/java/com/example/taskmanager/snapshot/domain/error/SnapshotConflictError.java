@@ -0,0 +1,8 @@
+package com.example.taskmanager.snapshot.domain.error;
+
+public class SnapshotConflictError extends SnapshotError {
+
+  public SnapshotConflictError(String snapshotName, String reason) {
+    super("Snapshot " + snapshotName + " conflicts with existing data: " + reason);
+  }
+}
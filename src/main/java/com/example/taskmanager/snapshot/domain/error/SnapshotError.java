@@ -0,0 +1,8 @@
+package com.example.taskmanager.snapshot.domain.error;
+
+import lombok.Data;
+
+@Data
+public abstract class SnapshotError {
+  private final String message;
+}
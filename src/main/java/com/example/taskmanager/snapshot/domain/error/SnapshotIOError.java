@@ -0,0 +1,8 @@
+package com.example.taskmanager.snapshot.domain.error;
+
+public class SnapshotIOError extends SnapshotError {
+
+  public SnapshotIOError(String snapshotName) {
+    super("Could not access snapshot: " + snapshotName);
+  }
+}
@@ -0,0 +1,8 @@
+package com.example.taskmanager.snapshot.domain.error;
+
+public class SnapshotNotFoundError extends SnapshotError {
+
+  public SnapshotNotFoundError(String snapshotName) {
+    super("Snapshot not found: " + snapshotName);
+  }
+}
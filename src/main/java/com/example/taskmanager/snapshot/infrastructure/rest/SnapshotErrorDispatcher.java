@@ -0,0 +1,25 @@
+package com.example.taskmanager.snapshot.infrastructure.rest;
+
+import com.example.taskmanager.snapshot.domain.error.InvalidSnapshotError;
+import com.example.taskmanager.snapshot.domain.error.SnapshotConflictError;
+import com.example.taskmanager.snapshot.domain.error.SnapshotError;
+import com.example.taskmanager.snapshot.domain.error.SnapshotNotFoundError;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+class SnapshotErrorDispatcher {
+
+  ResponseEntity<?> dispatch(SnapshotError error) {
+    if (error instanceof SnapshotNotFoundError) {
+      return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    } else if (error instanceof InvalidSnapshotError) {
+      return new ResponseEntity<>(error, HttpStatus.UNPROCESSABLE_ENTITY);
+    } else if (error instanceof SnapshotConflictError) {
+      return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    } else {
+      return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.example.taskmanager.snapshot.infrastructure.rest;
+
+import com.example.taskmanager.shared.EventLog;
+import com.example.taskmanager.snapshot.domain.SnapshotFacade;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+class SnapshotRestController {
+
+  private static final EventLog EVENTS = EventLog.of("snapshot.rest");
+
+  private final SnapshotFacade snapshotFacade;
+  private final SnapshotErrorDispatcher snapshotErrorDispatcher;
+
+  @PostMapping("/snapshots")
+  ResponseEntity<?> createSnapshot() {
+    var result = snapshotFacade
+            .createSnapshot()
+            .fold(
+                    snapshotErrorDispatcher::dispatch,
+                    snapshot -> new ResponseEntity<>(snapshot, HttpStatus.CREATED));
+    EVENTS.debug("createSnapshot", "status", result.getStatusCodeValue());
+    return result;
+  }
+
+  @PostMapping("/snapshots/{snapshotName}/restore")
+  ResponseEntity<?> restoreSnapshot(@PathVariable String snapshotName) {
+    var result = snapshotFacade
+            .restoreSnapshot(snapshotName)
+            .fold(
+                    snapshotErrorDispatcher::dispatch,
+                    restored -> new ResponseEntity<>(restored, HttpStatus.OK));
+    EVENTS.debug("restoreSnapshot", "name", snapshotName, "status", result.getStatusCodeValue());
+    return result;
+  }
+}
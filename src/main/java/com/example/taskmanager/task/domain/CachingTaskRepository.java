@@ -0,0 +1,171 @@
+package com.example.taskmanager.task.domain;
+
+import com.example.taskmanager.task.domain.dto.TaskViewDTO;
+import io.vavr.control.Option;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+class CachingTaskRepository implements TaskRepository {
+
+  private final TaskRepository taskRepository;
+  private final TaskCache taskCache;
+
+  @Override
+  public Task add(Task task) {
+    var result = taskRepository.add(task);
+    taskCache.invalidate(result.getOwnerUsername());
+    return result;
+  }
+
+  @Override
+  public List<Task> addAll(List<Task> tasks) {
+    var result = taskRepository.addAll(tasks);
+    result
+            .stream()
+            .map(Task::getOwnerUsername)
+            .distinct()
+            .forEach(taskCache::invalidate);
+    return result;
+  }
+
+  @Override
+  public int restoreAll(List<Task> tasks) {
+    var result = taskRepository.restoreAll(tasks);
+    tasks
+            .stream()
+            .map(Task::getOwnerUsername)
+            .distinct()
+            .forEach(taskCache::invalidate);
+    return result;
+  }
+
+  @Override
+  public List<Long> getRestoreCollisions(List<Task> tasks) {
+    return taskRepository.getRestoreCollisions(tasks);
+  }
+
+  @Override
+  public void realignIdSequence() {
+    taskRepository.realignIdSequence();
+  }
+
+  @Override
+  public Option<Task> changeContent(String ownerUsername, Long id, Long expectedVersion, String content) {
+    return taskRepository
+            .changeContent(ownerUsername, id, expectedVersion, content)
+            .peek(task -> taskCache.invalidate(ownerUsername));
+  }
+
+  @Override
+  public Option<Task> changePriority(String ownerUsername, Long id, Long expectedVersion, TaskPriority priority) {
+    return taskRepository
+            .changePriority(ownerUsername, id, expectedVersion, priority)
+            .peek(task -> taskCache.invalidate(ownerUsername));
+  }
+
+  @Override
+  public Option<Task> changeStatus(String ownerUsername, Long id, Long expectedVersion, TaskStatus status) {
+    return taskRepository
+            .changeStatus(ownerUsername, id, expectedVersion, status)
+            .peek(task -> taskCache.invalidate(ownerUsername));
+  }
+
+  @Override
+  public void remove(Task task) {
+    taskRepository.remove(task);
+    taskCache.invalidate(task.getOwnerUsername());
+  }
+
+  @Override
+  public int removeChunk(String ownerUsername, int chunkSize) {
+    var result = taskRepository.removeChunk(ownerUsername, chunkSize);
+    taskCache.invalidate(ownerUsername);
+    return result;
+  }
+
+  @Override
+  public int removeTombstones(String ownerUsername) {
+    return taskRepository.removeTombstones(ownerUsername);
+  }
+
+  @Override
+  public Option<Task> getById(Long id) {
+    return taskRepository.getById(id);
+  }
+
+  @Override
+  public Option<TaskViewDTO> getTaskByOwnerUsernameAndId(String ownerUsername, Long id) {
+    return taskCache.get(
+            ownerUsername,
+            new TaskByIdQuery(id),
+            () -> taskRepository.getTaskByOwnerUsernameAndId(ownerUsername, id));
+  }
+
+  @Override
+  public List<TaskViewDTO> getPageByOwnerUsername(String ownerUsername, Long afterId, int limit) {
+    return taskCache.get(
+            ownerUsername,
+            new TaskPageQuery(afterId, limit),
+            () -> taskRepository.getPageByOwnerUsername(ownerUsername, afterId, limit));
+  }
+
+  @Override
+  public List<TaskViewDTO> getAll(TaskQuery query) {
+    return taskCache.get(
+            query.filter().ownerUsername(),
+            query,
+            () -> taskRepository.getAll(query));
+  }
+
+  @Override
+  public List<TaskViewDTO> getAllByOwnerUsernameAndIds(String ownerUsername, Collection<Long> ids) {
+    return taskRepository.getAllByOwnerUsernameAndIds(ownerUsername, ids);
+  }
+
+  @Override
+  public List<TaskChange> getChangesByOwnerUsername(String ownerUsername, long since, int limit) {
+    return taskRepository.getChangesByOwnerUsername(ownerUsername, since, limit);
+  }
+
+  @Override
+  public void forEachByOwnerUsername(String ownerUsername, Consumer<TaskViewDTO> action) {
+    taskRepository.forEachByOwnerUsername(ownerUsername, action);
+  }
+
+  @Override
+  public void forEach(Consumer<Task> action) {
+    taskRepository.forEach(action);
+  }
+
+  @Override
+  public List<TaskCount> countAll() {
+    return taskRepository.countAll();
+  }
+
+  @Override
+  public List<TaskCount> countAllByOwnerUsername(String ownerUsername) {
+    return taskRepository.countAllByOwnerUsername(ownerUsername);
+  }
+
+  @Override
+  public int changeStatus(TaskFilter filter, TaskStatus status) {
+    var result = taskRepository.changeStatus(filter, status);
+    taskCache.invalidate(filter.ownerUsername());
+    return result;
+  }
+
+  @Override
+  public int changePriority(TaskFilter filter, TaskPriority priority) {
+    var result = taskRepository.changePriority(filter, priority);
+    taskCache.invalidate(filter.ownerUsername());
+    return result;
+  }
+
+  private record TaskByIdQuery(Long id) {}
+
+  private record TaskPageQuery(Long afterId, int limit) {}
+}
@@ -0,0 +1,27 @@
+package com.example.taskmanager.task.domain;
+
+import com.example.taskmanager.shared.EventLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@RequiredArgsConstructor
+class ChunkedTaskRemoval {
+
+  private static final EventLog EVENTS = EventLog.of("task.removal");
+
+  private final TaskRepository taskRepository;
+  private final TransactionTemplate chunkTransaction;
+  private final int chunkSize;
+
+  long removeAll(String ownerUsername) {
+    var removed = 0L;
+    int chunk;
+    do {
+      chunk = chunkTransaction.execute(status -> taskRepository.removeChunk(ownerUsername, chunkSize));
+      removed += chunk;
+      EVENTS.debug("tasks.chunk.removed", "owner", ownerUsername, "removed", removed);
+    } while (chunk == chunkSize);
+    chunkTransaction.execute(status -> taskRepository.removeTombstones(ownerUsername));
+    return removed;
+  }
+}
@@ -0,0 +1,22 @@
+package com.example.taskmanager.task.domain;
+
+import com.example.taskmanager.shared.EventLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@RequiredArgsConstructor
+class OnStartUpTaskIdSequenceRealignment {
+
+  private static final EventLog EVENTS = EventLog.of("task.startup");
+
+  private final TaskRepository taskRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  @EventListener(ContextRefreshedEvent.class)
+  public void onApplicationEvent() {
+    transactionTemplate.executeWithoutResult(status -> taskRepository.realignIdSequence());
+    EVENTS.info("task.id.sequence.realigned");
+  }
+}
@@ -0,0 +1,22 @@
+package com.example.taskmanager.task.domain;
+
+import com.example.taskmanager.shared.EventLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+
+@RequiredArgsConstructor
+class OnStartUpTaskSearchIndexRebuild {
+
+  private static final EventLog EVENTS = EventLog.of("task.startup");
+
+  private final TaskRepository taskRepository;
+  private final TaskSearchIndex taskSearchIndex;
+
+  @EventListener(ContextRefreshedEvent.class)
+  public void onApplicationEvent() {
+    taskSearchIndex.clear();
+    taskRepository.forEach(task -> task.addTo(taskSearchIndex));
+    EVENTS.info("task.search.index.rebuilt");
+  }
+}
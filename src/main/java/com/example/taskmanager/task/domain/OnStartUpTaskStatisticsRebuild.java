@@ -0,0 +1,22 @@
+package com.example.taskmanager.task.domain;
+
+import com.example.taskmanager.shared.EventLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+
+@RequiredArgsConstructor
+class OnStartUpTaskStatisticsRebuild {
+
+  private static final EventLog EVENTS = EventLog.of("task.startup");
+
+  private final TaskRepository taskRepository;
+  private final TaskStatistics taskStatistics;
+
+  @EventListener(ContextRefreshedEvent.class)
+  public void onApplicationEvent() {
+    taskStatistics.clear();
+    taskRepository.countAll().forEach(taskStatistics::add);
+    EVENTS.info("task.statistics.rebuilt");
+  }
+}
@@ -1,70 +1,557 @@
 package com.example.taskmanager.task.domain;
 
+import com.example.taskmanager.shared.EventLog;
+import com.example.taskmanager.task.domain.dto.TaskSnapshotDTO;
+import com.example.taskmanager.task.domain.dto.TaskViewDTO;
 import io.vavr.control.Option;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.InstantType;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.QueryHint;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hibernate.annotations.QueryHints.FETCH_SIZE;
+import static org.hibernate.annotations.QueryHints.READ_ONLY;
 
 interface SpringDataJpaTaskRepository extends JpaRepository<Task, Long> {
 
-  Option<Task> findJpaTaskByOwnerUsernameAndId(String ownerUsername, Long id);
-  List<Task> findAllByOwnerUsername(String ownerUsername);
-  void deleteAllByOwnerUsername(String ownerUsername);
+  String SELECT_TASK_VIEW = "select new com.example.taskmanager.task.domain.dto.TaskViewDTO("
+          + "t.id, t.content, t.priority, t.status, t.creationDate, t.version) from Task t";
+
+  @Transactional(readOnly = true)
+  @Query(SELECT_TASK_VIEW + " where t.ownerUsername = ?1 and t.id = ?2")
+  Option<TaskViewDTO> findTaskViewByOwnerUsernameAndId(String ownerUsername, Long id);
+
+  @Transactional(readOnly = true)
+  @Query(SELECT_TASK_VIEW + " where t.ownerUsername = ?1 and t.id > ?2 order by t.id asc")
+  List<TaskViewDTO> findTaskViewsByOwnerUsernameAndIdGreaterThan(String ownerUsername, Long id, Pageable pageable);
+
+  @Transactional(readOnly = true)
+  @Query(SELECT_TASK_VIEW + " where t.ownerUsername = ?1 and t.id in ?2")
+  List<TaskViewDTO> findTaskViewsByOwnerUsernameAndIdIn(String ownerUsername, Collection<Long> ids);
+
+  @QueryHints(@QueryHint(name = FETCH_SIZE, value = "500"))
+  @Query(SELECT_TASK_VIEW + " where t.ownerUsername = ?1 order by t.id")
+  Stream<TaskViewDTO> streamTaskViewsByOwnerUsername(String ownerUsername);
+
+  @QueryHints({@QueryHint(name = FETCH_SIZE, value = "500"), @QueryHint(name = READ_ONLY, value = "true")})
+  @Query("select t from Task t")
+  Stream<Task> streamAll();
+
+  @Query("select t.ownerUsername, t.status, t.priority, count(t) from Task t"
+          + " group by t.ownerUsername, t.status, t.priority")
+  List<Object[]> countAllGroupedByOwnerUsernameAndStatusAndPriority();
+
+  @Query("select t.ownerUsername, t.status, t.priority, count(t) from Task t where t.ownerUsername = ?1"
+          + " group by t.ownerUsername, t.status, t.priority")
+  List<Object[]> countAllByOwnerUsernameGroupedByStatusAndPriority(String ownerUsername);
 }
 
 @RequiredArgsConstructor
-@Slf4j
 class SpringDataJpaTaskRepositoryAdapter implements TaskRepository {
 
+  private static final EventLog EVENTS = EventLog.of("task.repository");
+
+  private static final String MERGE_TASK = "merge into tasks"
+          + " (uuid, id, content, priority, creation_date, status, owner_username, version)"
+          + " key (id) values (?, ?, ?, ?, ?, ?, ?, ?)";
+  private static final String DELETE_TASK_TOMBSTONE = "delete from task_tombstones where id = ?";
+
   private final SpringDataJpaTaskRepository springDataJpaTaskRepository;
+  private final EntityManager entityManager;
+  private final TransactionTemplate transaction;
+  private final TransactionTemplate readOnlyTransaction;
+  private final int batchSize;
 
   @Override
   public Task add(Task task) {
-    log.info(task.toString());
-    var result = springDataJpaTaskRepository.save(task);
-    log.info(result.toString());
+    var result = transaction.execute(status -> {
+      lockOwners(List.of(task));
+      return springDataJpaTaskRepository.save(task);
+    });
+    EVENTS.debug("task.added", "taskId", result.getId());
+    return result;
+  }
+
+  @Override
+  public List<Task> addAll(List<Task> tasks) {
+    lockOwners(tasks);
+    var batchStart = 0;
+    for (var index = 0; index < tasks.size(); index++) {
+      entityManager.persist(tasks.get(index));
+      if ((index + 1) % batchSize == 0) {
+        flushAndDetach(tasks.subList(batchStart, index + 1));
+        batchStart = index + 1;
+      }
+    }
+    flushAndDetach(tasks.subList(batchStart, tasks.size()));
+    EVENTS.debug("tasks.added", "tasks", tasks.size());
+    return tasks;
+  }
+
+  private void flushAndDetach(List<Task> batch) {
+    entityManager.flush();
+    batch.forEach(entityManager::detach);
+  }
+
+  @Override
+  public int restoreAll(List<Task> tasks) {
+    lockOwners(tasks);
+    entityManager.flush();
+    entityManager.unwrap(Session.class).doWork(connection -> {
+      try (var statement = connection.prepareStatement(MERGE_TASK);
+           var tombstoneStatement = connection.prepareStatement(DELETE_TASK_TOMBSTONE)) {
+        for (var index = 0; index < tasks.size(); index++) {
+          var task = tasks.get(index).toSnapshot();
+          bindTask(statement, task);
+          statement.addBatch();
+          tombstoneStatement.setLong(1, task.id());
+          tombstoneStatement.addBatch();
+          if ((index + 1) % batchSize == 0) {
+            statement.executeBatch();
+            tombstoneStatement.executeBatch();
+          }
+        }
+        statement.executeBatch();
+        tombstoneStatement.executeBatch();
+      }
+    });
+    entityManager.clear();
+    realignIdSequence();
+    EVENTS.debug("tasks.restored", "tasks", tasks.size());
+    return tasks.size();
+  }
+
+  @Override
+  public List<Long> getRestoreCollisions(List<Task> tasks) {
+    if (tasks.isEmpty()) {
+      return List.of();
+    }
+    var snapshots = tasks
+            .stream()
+            .map(Task::toSnapshot)
+            .collect(Collectors.toMap(TaskSnapshotDTO::id, snapshot -> snapshot, (first, second) -> second));
+    List<?> rows = entityManager
+            .createNativeQuery("select id, uuid, owner_username from tasks where id in (:ids) or uuid in (:uuids)")
+            .setParameter("ids", snapshots.keySet())
+            .setParameter("uuids", snapshots.values().stream().map(TaskSnapshotDTO::uuid).collect(Collectors.toList()))
+            .unwrap(NativeQuery.class)
+            .addScalar("id", StandardBasicTypes.LONG)
+            .addScalar("uuid", StandardBasicTypes.UUID_BINARY)
+            .addScalar("owner_username", StandardBasicTypes.STRING)
+            .getResultList();
+    var result = rows
+            .stream()
+            .map(row -> (Object[]) row)
+            .filter(row -> {
+              var snapshot = snapshots.get((Long) row[0]);
+              return snapshot == null
+                      || !snapshot.uuid().equals(row[1])
+                      || !snapshot.ownerUsername().equals(row[2]);
+            })
+            .map(row -> (Long) row[0])
+            .collect(Collectors.toList());
+    EVENTS.debug("tasks.restore.collisions.loaded", "tasks", tasks.size(), "collisions", result.size());
+    return result;
+  }
+
+  @Override
+  public Option<Task> changeContent(String ownerUsername, Long id, Long expectedVersion, String content) {
+    var result = updateReturningOld(ownerUsername, id, expectedVersion, "content", content);
+    EVENTS.debug("task.content.updated", "taskId", id, "updated", result.isDefined());
+    return result;
+  }
+
+  @Override
+  public Option<Task> changePriority(String ownerUsername, Long id, Long expectedVersion, TaskPriority priority) {
+    var result = updateReturningOld(ownerUsername, id, expectedVersion, "priority", priority.name());
+    EVENTS.debug("task.priority.updated", "taskId", id, "updated", result.isDefined());
+    return result;
+  }
+
+  @Override
+  public Option<Task> changeStatus(String ownerUsername, Long id, Long expectedVersion, TaskStatus status) {
+    var result = updateReturningOld(ownerUsername, id, expectedVersion, "status", status.name());
+    EVENTS.debug("task.status.updated", "taskId", id, "updated", result.isDefined());
     return result;
   }
 
   @Override
   public void remove(Task task) {
-    log.info(task.toString());
+    lockOwner(task.getOwnerUsername());
     springDataJpaTaskRepository.delete(task);
-    log.info("removed");
+    entityManager
+            .createNativeQuery("merge into task_tombstones (id, owner_username, change_seq) key (id)"
+                    + " values (:id, :ownerUsername, next value for tasks_change_seq)")
+            .setParameter("id", task.getId())
+            .setParameter("ownerUsername", task.getOwnerUsername())
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace("task_tombstones")
+            .executeUpdate();
+    EVENTS.debug("task.deleted", "taskId", task.getId());
   }
 
   @Override
-  public void removeAll(String username) {
-    log.info(username);
-    springDataJpaTaskRepository.deleteAllByOwnerUsername(username);
-    log.info("removed");
+  public int removeChunk(String ownerUsername, int chunkSize) {
+    var result = entityManager
+            .createNativeQuery("delete from tasks where owner_username = :ownerUsername"
+                    + " fetch first :chunkSize rows only")
+            .setParameter("ownerUsername", ownerUsername)
+            .setParameter("chunkSize", chunkSize)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(Task.class)
+            .executeUpdate();
+    EVENTS.debug("tasks.chunk.deleted", "username", ownerUsername, "tasks", result);
+    return result;
+  }
+
+  @Override
+  public int removeTombstones(String ownerUsername) {
+    var result = entityManager
+            .createNativeQuery("delete from task_tombstones where owner_username = :ownerUsername")
+            .setParameter("ownerUsername", ownerUsername)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace("task_tombstones")
+            .executeUpdate();
+    EVENTS.debug("task.tombstones.deleted", "username", ownerUsername, "tombstones", result);
+    return result;
   }
 
   @Override
   public Option<Task> getById(Long id) {
-    log.info(id.toString());
     return Option.ofOptional(springDataJpaTaskRepository
                     .findById(id))
-            .peek(task -> log.info(task.toString()));
+            .peek(task -> EVENTS.debug("task.loaded", "taskId", id));
   }
 
   @Override
-  public Option<Task> getTaskByOwnerUsernameAndId(String ownerUsername, Long id) {
-    log.info(ownerUsername);
-    log.info(id.toString());
-    var result = springDataJpaTaskRepository.findJpaTaskByOwnerUsernameAndId(ownerUsername, id);
-    log.info(result.toString());
+  public Option<TaskViewDTO> getTaskByOwnerUsernameAndId(String ownerUsername, Long id) {
+    var result = springDataJpaTaskRepository.findTaskViewByOwnerUsernameAndId(ownerUsername, id);
+    EVENTS.debug("task.view.loaded", "taskId", id, "found", result.isDefined());
     return result;
   }
 
   @Override
-  public List<Task> getAllByOwnerUsername(String ownerUsername) {
-    log.info(ownerUsername);
-    var result = springDataJpaTaskRepository.findAllByOwnerUsername(ownerUsername);
-    log.info(result.toString());
+  public List<TaskViewDTO> getPageByOwnerUsername(String ownerUsername, Long afterId, int limit) {
+    var result = springDataJpaTaskRepository.findTaskViewsByOwnerUsernameAndIdGreaterThan(
+            ownerUsername,
+            Option.of(afterId).getOrElse(0L),
+            PageRequest.of(0, limit));
+    EVENTS.debug("tasks.page.loaded", "username", ownerUsername, "tasks", result.size());
     return result;
   }
-}
 
+  @Override
+  public List<TaskChange> getChangesByOwnerUsername(String ownerUsername, long since, int limit) {
+    var changes = new ArrayList<TaskChange>();
+    readOnlyTransaction.executeWithoutResult(status -> {
+      List<?> changedRows = entityManager
+              .createNativeQuery("select id, content, priority, status, creation_date, version, change_seq"
+                      + " from tasks where owner_username = :ownerUsername and change_seq > :since"
+                      + " order by change_seq fetch first :limit rows only")
+              .setParameter("ownerUsername", ownerUsername)
+              .setParameter("since", since)
+              .setParameter("limit", limit)
+              .unwrap(NativeQuery.class)
+              .addScalar("id", StandardBasicTypes.LONG)
+              .addScalar("content", StandardBasicTypes.STRING)
+              .addScalar("priority", StandardBasicTypes.STRING)
+              .addScalar("status", StandardBasicTypes.STRING)
+              .addScalar("creation_date", InstantType.INSTANCE)
+              .addScalar("version", StandardBasicTypes.LONG)
+              .addScalar("change_seq", StandardBasicTypes.LONG)
+              .getResultList();
+      changedRows
+              .stream()
+              .map(row -> (Object[]) row)
+              .map(row -> new TaskChange(
+                      (Long) row[6],
+                      new TaskViewDTO(
+                              (Long) row[0],
+                              (String) row[1],
+                              (String) row[2],
+                              (String) row[3],
+                              row[4].toString(),
+                              (Long) row[5]),
+                      null))
+              .forEach(changes::add);
+      List<?> removedRows = entityManager
+              .createNativeQuery("select id, change_seq from task_tombstones"
+                      + " where owner_username = :ownerUsername and change_seq > :since"
+                      + " order by change_seq fetch first :limit rows only")
+              .setParameter("ownerUsername", ownerUsername)
+              .setParameter("since", since)
+              .setParameter("limit", limit)
+              .unwrap(NativeQuery.class)
+              .addScalar("id", StandardBasicTypes.LONG)
+              .addScalar("change_seq", StandardBasicTypes.LONG)
+              .getResultList();
+      removedRows
+              .stream()
+              .map(row -> (Object[]) row)
+              .map(row -> new TaskChange((Long) row[1], null, (Long) row[0]))
+              .forEach(changes::add);
+    });
+    changes.sort(Comparator.comparingLong(TaskChange::changeSeq));
+    var result = changes.size() > limit ? changes.subList(0, limit) : changes;
+    EVENTS.debug("tasks.changes.loaded", "username", ownerUsername, "changes", result.size());
+    return result;
+  }
+
+  @Override
+  public void forEachByOwnerUsername(String ownerUsername, Consumer<TaskViewDTO> action) {
+    readOnlyTransaction.executeWithoutResult(status -> {
+      try (var taskViews = springDataJpaTaskRepository.streamTaskViewsByOwnerUsername(ownerUsername)) {
+        taskViews.forEach(action);
+      }
+    });
+    EVENTS.debug("tasks.streamed", "username", ownerUsername);
+  }
+
+  @Override
+  public List<TaskViewDTO> getAllByOwnerUsernameAndIds(String ownerUsername, Collection<Long> ids) {
+    var result = springDataJpaTaskRepository.findTaskViewsByOwnerUsernameAndIdIn(ownerUsername, ids);
+    EVENTS.debug("tasks.by.ids.loaded", "username", ownerUsername, "tasks", result.size());
+    return result;
+  }
+
+  @Override
+  public void forEach(Consumer<Task> action) {
+    readOnlyTransaction.executeWithoutResult(status -> {
+      try (var tasks = springDataJpaTaskRepository.streamAll()) {
+        tasks.forEach(task -> {
+          action.accept(task);
+          entityManager.detach(task);
+        });
+      }
+    });
+    EVENTS.debug("tasks.all.streamed");
+  }
+
+  @Override
+  public List<TaskCount> countAll() {
+    var result = springDataJpaTaskRepository
+            .countAllGroupedByOwnerUsernameAndStatusAndPriority()
+            .stream()
+            .map(SpringDataJpaTaskRepositoryAdapter::toTaskCount)
+            .collect(Collectors.toList());
+    EVENTS.debug("task.counts.loaded", "counts", result.size());
+    return result;
+  }
+
+  @Override
+  public List<TaskCount> countAllByOwnerUsername(String ownerUsername) {
+    var result = springDataJpaTaskRepository
+            .countAllByOwnerUsernameGroupedByStatusAndPriority(ownerUsername)
+            .stream()
+            .map(SpringDataJpaTaskRepositoryAdapter::toTaskCount)
+            .collect(Collectors.toList());
+    EVENTS.debug("task.counts.loaded", "username", ownerUsername, "counts", result.size());
+    return result;
+  }
+
+  @Override
+  public int changeStatus(TaskFilter filter, TaskStatus status) {
+    var result = update(filter, "status", status);
+    EVENTS.debug("tasks.status.updated", "username", filter.ownerUsername(), "tasks", result);
+    return result;
+  }
+
+  @Override
+  public int changePriority(TaskFilter filter, TaskPriority priority) {
+    var result = update(filter, "priority", priority);
+    EVENTS.debug("tasks.priority.updated", "username", filter.ownerUsername(), "tasks", result);
+    return result;
+  }
+
+  @Override
+  public List<TaskViewDTO> getAll(TaskQuery query) {
+    var criteriaBuilder = entityManager.getCriteriaBuilder();
+    var criteriaQuery = criteriaBuilder.createQuery(TaskViewDTO.class);
+    var task = criteriaQuery.from(Task.class);
+    var sortAttribute = task.get(query.sortBy().attribute);
+    var idAttribute = task.get("id");
+    criteriaQuery
+            .select(criteriaBuilder.construct(
+                    TaskViewDTO.class,
+                    idAttribute,
+                    task.get("content"),
+                    task.get("priority"),
+                    task.get("status"),
+                    task.get("creationDate"),
+                    task.get("version")))
+            .where(predicates(criteriaBuilder, task, query.filter()))
+            .orderBy(query.descending()
+                    ? List.of(criteriaBuilder.desc(sortAttribute), criteriaBuilder.desc(idAttribute))
+                    : List.of(criteriaBuilder.asc(sortAttribute), criteriaBuilder.asc(idAttribute)));
+    var result = readOnlyTransaction.execute(status -> entityManager
+            .createQuery(criteriaQuery)
+            .setFirstResult(query.offset())
+            .setMaxResults(query.limit())
+            .getResultList());
+    EVENTS.debug("tasks.query.loaded", "username", query.filter().ownerUsername(), "tasks", result.size());
+    return result;
+  }
+
+  private Option<Task> updateReturningOld(
+          String ownerUsername,
+          Long id,
+          Long expectedVersion,
+          String column,
+          Object value) {
+    lockOwner(ownerUsername);
+    var query = entityManager
+            .createNativeQuery("select id, uuid, content, priority, status, creation_date, owner_username, version"
+                    + " from old table (update tasks set " + column + " = :value, version = version + 1"
+                    + " where owner_username = :ownerUsername and id = :id"
+                    + (expectedVersion == null ? "" : " and version = :expectedVersion") + ")")
+            .setParameter("value", value)
+            .setParameter("ownerUsername", ownerUsername)
+            .setParameter("id", id);
+    if (expectedVersion != null) {
+      query.setParameter("expectedVersion", expectedVersion);
+    }
+    List<?> rows = query
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(Task.class)
+            .addScalar("id", StandardBasicTypes.LONG)
+            .addScalar("uuid", StandardBasicTypes.UUID_BINARY)
+            .addScalar("content", StandardBasicTypes.STRING)
+            .addScalar("priority", StandardBasicTypes.STRING)
+            .addScalar("status", StandardBasicTypes.STRING)
+            .addScalar("creation_date", InstantType.INSTANCE)
+            .addScalar("owner_username", StandardBasicTypes.STRING)
+            .addScalar("version", StandardBasicTypes.LONG)
+            .getResultList();
+    return Option.ofOptional(rows.stream().findFirst())
+            .map(row -> (Object[]) row)
+            .map(row -> Task.restore(
+                    (Long) row[0],
+                    (UUID) row[1],
+                    (String) row[2],
+                    TaskPriority.valueOf((String) row[3]),
+                    TaskStatus.valueOf((String) row[4]),
+                    (Instant) row[5],
+                    (String) row[6],
+                    (Long) row[7]));
+  }
+
+  private <T> int update(TaskFilter filter, String attribute, T value) {
+    lockOwner(filter.ownerUsername());
+    var criteriaBuilder = entityManager.getCriteriaBuilder();
+    var criteriaUpdate = criteriaBuilder.createCriteriaUpdate(Task.class);
+    var task = criteriaUpdate.from(Task.class);
+    criteriaUpdate
+            .set(task.<T>get(attribute), value)
+            .set(task.<Long>get("version"), criteriaBuilder.sum(task.<Long>get("version"), 1L))
+            .where(predicates(criteriaBuilder, task, filter));
+    return entityManager
+            .createQuery(criteriaUpdate)
+            .executeUpdate();
+  }
+
+  // change_seq values are drawn when a row is written but become visible at commit, so two
+  // overlapping writers of one owner could commit out of order and a reader's cursor would skip
+  // the lower one. Holding the owner's users row for the rest of the transaction orders them.
+  private void lockOwners(List<Task> tasks) {
+    tasks
+            .stream()
+            .map(Task::getOwnerUsername)
+            .distinct()
+            .sorted()
+            .forEach(this::lockOwner);
+  }
+
+  private void lockOwner(String ownerUsername) {
+    entityManager
+            .createNativeQuery("select username from users where username = :ownerUsername for update")
+            .setParameter("ownerUsername", ownerUsername)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace("users")
+            .getResultList();
+  }
+
+  @Override
+  public void realignIdSequence() {
+    var maxId = ((Number) entityManager
+            .createNativeQuery("select coalesce(max(id), 0) from tasks")
+            .getSingleResult()).longValue();
+    var nextId = ((Number) entityManager
+            .createNativeQuery("select next value for tasks_id_seq")
+            .getSingleResult()).longValue();
+    var minNextId = maxId + Task.ID_ALLOCATION_SIZE + 1;
+    if (nextId < minNextId) {
+      entityManager
+              .createNativeQuery("alter sequence tasks_id_seq restart with " + minNextId)
+              .unwrap(NativeQuery.class)
+              .addSynchronizedEntityClass(Task.class)
+              .executeUpdate();
+      EVENTS.info("task.id.sequence.restarted", "nextId", minNextId);
+    }
+  }
+
+  private static void bindTask(PreparedStatement statement, TaskSnapshotDTO task) throws SQLException {
+    statement.setObject(1, task.uuid());
+    statement.setLong(2, task.id());
+    statement.setString(3, task.content());
+    statement.setString(4, task.priority().name());
+    statement.setTimestamp(5, Timestamp.from(task.creationDate()));
+    statement.setString(6, task.status().name());
+    statement.setString(7, task.ownerUsername());
+    statement.setLong(8, task.version() == null ? 0 : task.version());
+  }
+
+  private static TaskCount toTaskCount(Object[] row) {
+    return new TaskCount(
+            (String) row[0],
+            (TaskStatus) row[1],
+            (TaskPriority) row[2],
+            ((Number) row[3]).longValue());
+  }
+
+  private static Predicate[] predicates(CriteriaBuilder criteriaBuilder, Root<Task> task, TaskFilter filter) {
+    var predicates = new ArrayList<Predicate>();
+    predicates.add(criteriaBuilder.equal(task.get("ownerUsername"), filter.ownerUsername()));
+    if (filter.ids() != null) {
+      predicates.add(task.get("id").in(filter.ids()));
+    }
+    if (filter.status() != null) {
+      predicates.add(criteriaBuilder.equal(task.get("status"), filter.status()));
+    }
+    if (filter.priority() != null) {
+      predicates.add(criteriaBuilder.equal(task.get("priority"), filter.priority()));
+    }
+    if (filter.createdFrom() != null) {
+      predicates.add(criteriaBuilder.greaterThanOrEqualTo(task.<Instant>get("creationDate"), filter.createdFrom()));
+    }
+    if (filter.createdTo() != null) {
+      predicates.add(criteriaBuilder.lessThan(task.<Instant>get("creationDate"), filter.createdTo()));
+    }
+    return predicates.toArray(Predicate[]::new);
+  }
+}
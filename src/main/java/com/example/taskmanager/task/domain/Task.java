@@ -1,5 +1,8 @@
 package com.example.taskmanager.task.domain;
 
+import com.example.taskmanager.task.domain.dto.TaskPriorityDTO;
+import com.example.taskmanager.task.domain.dto.TaskSnapshotDTO;
+import com.example.taskmanager.task.domain.dto.TaskStatusDTO;
 import com.example.taskmanager.task.domain.dto.TaskViewDTO;
 import com.example.taskmanager.task.domain.error.TaskError;
 import com.example.taskmanager.task.domain.error.WrongTaskContentLengthError;
@@ -22,9 +25,12 @@ import static com.example.taskmanager.task.domain.TaskFacade.MAX_TASK_CONTENT_LE
 @NoArgsConstructor
 class Task {
 
+  static final int ID_ALLOCATION_SIZE = 50;
+
   private UUID uuid;
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id_seq")
+  @SequenceGenerator(name = "tasks_id_seq", sequenceName = "tasks_id_seq", allocationSize = ID_ALLOCATION_SIZE)
   private Long id;
   private String content;
   @Enumerated(EnumType.STRING)
@@ -33,6 +39,8 @@ class Task {
   private TaskStatus status;
   private Instant creationDate;
   private String ownerUsername;
+  @Version
+  private Long version;
 
   private Task(
       Long id,
@@ -41,7 +49,8 @@ class Task {
       TaskPriority priority,
       TaskStatus status,
       Instant creationDate,
-      String ownerUsername) {
+      String ownerUsername,
+      Long version) {
     this.id = id;
     this.uuid = uuid;
     this.content = content;
@@ -49,6 +58,7 @@ class Task {
     this.status = status;
     this.creationDate = creationDate.truncatedTo(ChronoUnit.MILLIS);
     this.ownerUsername = ownerUsername;
+    this.version = version;
   }
 
   static Either<TaskError, Task> create(
@@ -64,7 +74,20 @@ class Task {
                     priority,
                     status,
                     Instant.now(),
-                    userNameOwner));
+                    userNameOwner,
+                    null));
+  }
+
+  static Task restore(
+      Long id,
+      UUID uuid,
+      String content,
+      TaskPriority priority,
+      TaskStatus status,
+      Instant creationDate,
+      String ownerUsername,
+      Long version) {
+    return new Task(id, uuid, content, priority, status, creationDate, ownerUsername, version);
   }
 
   Either<TaskError, Task> changeContent(String content) {
@@ -76,7 +99,8 @@ class Task {
                     this.priority,
                     this.status,
                     this.creationDate,
-                    this.ownerUsername
+                    this.ownerUsername,
+                    nextVersion()
             ));
   }
 
@@ -88,7 +112,8 @@ class Task {
             priority,
             this.status,
             this.creationDate,
-            this.ownerUsername
+            this.ownerUsername,
+            nextVersion()
     );
   }
 
@@ -100,10 +125,47 @@ class Task {
             this.priority,
             status,
             this.creationDate,
-            this.ownerUsername
+            this.ownerUsername,
+            nextVersion()
     );
   }
 
+  void addTo(TaskSearchIndex searchIndex) {
+    searchIndex.put(this.ownerUsername, this.id, this.content);
+  }
+
+  void removeFrom(TaskSearchIndex searchIndex) {
+    searchIndex.remove(this.ownerUsername, this.id);
+  }
+
+  void addTo(TaskStatistics statistics) {
+    statistics.add(new TaskCount(this.ownerUsername, this.status, this.priority, 1));
+  }
+
+  void removeFrom(TaskStatistics statistics) {
+    statistics.add(new TaskCount(this.ownerUsername, this.status, this.priority, -1));
+  }
+
+  TaskSnapshotDTO toSnapshot() {
+    return new TaskSnapshotDTO(
+            this.uuid,
+            this.id,
+            this.content,
+            TaskPriorityDTO.valueOf(this.priority.name()),
+            TaskStatusDTO.valueOf(this.status.name()),
+            this.creationDate,
+            this.ownerUsername,
+            this.version);
+  }
+
+  Long getId() {
+    return id;
+  }
+
+  String getOwnerUsername() {
+    return ownerUsername;
+  }
+
   TaskViewDTO toView() {
     return TaskViewDTO.builder()
             .id(this.id)
@@ -111,10 +173,15 @@ class Task {
             .priority(this.priority.toString())
             .status(this.status.toString())
             .creationDate(this.creationDate.toString())
+            .version(this.version)
             .build();
   }
 
-  private static Either<TaskError, String> validateTaskContentFormat(String taskContentCandidate) {
+  private Long nextVersion() {
+    return this.version == null ? null : this.version + 1;
+  }
+
+  static Either<TaskError, String> validateTaskContentFormat(String taskContentCandidate) {
     if (taskContentCandidate.length() > MAX_TASK_CONTENT_LENGTH) {
       return Either.left(new WrongTaskContentLengthError(taskContentCandidate));
     } else {
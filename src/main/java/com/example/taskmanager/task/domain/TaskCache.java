@@ -0,0 +1,100 @@
+package com.example.taskmanager.task.domain;
+
+import com.example.taskmanager.task.domain.dto.TaskCacheStatsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+class TaskCache implements MeterBinder {
+
+  private final Cache<Key, Object> cache;
+  private final TaskVersions taskVersions;
+  private final Map<String, Set<Key>> keysByOwner = new ConcurrentHashMap<>();
+
+  TaskCache(TaskVersions taskVersions, long maximumWeight, Duration timeToLive) {
+    this.taskVersions = taskVersions;
+    this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((Key key, Object value) -> value instanceof Collection<?> collection
+                    ? Math.max(collection.size(), 1)
+                    : 1)
+            .expireAfterWrite(timeToLive)
+            .removalListener((Key key, Object value, RemovalCause cause) -> {
+              if (key != null) {
+                forget(key);
+              }
+            })
+            .recordStats()
+            .build();
+  }
+
+  @SuppressWarnings("unchecked")
+  <T> T get(String ownerUsername, Object query, Supplier<T> loader) {
+    var key = new Key(ownerUsername, taskVersions.current(ownerUsername), query);
+    var cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return (T) cached;
+    }
+    var loaded = loader.get();
+    keysByOwner.computeIfAbsent(ownerUsername, owner -> ConcurrentHashMap.newKeySet()).add(key);
+    cache.put(key, loaded);
+    return loaded;
+  }
+
+  void invalidate(String ownerUsername) {
+    taskVersions.bump(ownerUsername);
+    evictStale(ownerUsername);
+    AfterCommit.run(() -> evictStale(ownerUsername));
+  }
+
+  private void evictStale(String ownerUsername) {
+    var keys = keysByOwner.get(ownerUsername);
+    if (keys == null) {
+      return;
+    }
+    var current = taskVersions.current(ownerUsername);
+    keys.stream()
+            .filter(key -> key.version() < current)
+            .toList()
+            .forEach(cache::invalidate);
+  }
+
+  private void forget(Key key) {
+    keysByOwner.computeIfPresent(key.ownerUsername(), (owner, keys) -> {
+      keys.remove(key);
+      return keys.isEmpty() ? null : keys;
+    });
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, "tasks");
+  }
+
+  TaskCacheStatsDTO stats() {
+    var stats = cache.stats();
+    return TaskCacheStatsDTO.builder()
+            .hitCount(stats.hitCount())
+            .missCount(stats.missCount())
+            .hitRate(stats.hitRate())
+            .evictionCount(stats.evictionCount())
+            .evictionWeight(stats.evictionWeight())
+            .estimatedSize(cache.estimatedSize())
+            .weightedSize(cache.policy().eviction()
+                    .map(eviction -> eviction.weightedSize().orElse(0L))
+                    .orElse(0L))
+            .build();
+  }
+
+  private record Key(String ownerUsername, long version, Object query) {}
+}
@@ -0,0 +1,5 @@
+package com.example.taskmanager.task.domain;
+
+import com.example.taskmanager.task.domain.dto.TaskViewDTO;
+
+record TaskChange(long changeSeq, TaskViewDTO task, Long removedTaskId) {}
@@ -1,18 +1,154 @@
 package com.example.taskmanager.task.domain;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.nio.file.Path;
+import java.time.Duration;
 
 @Component
 class TaskConfig {
 
   @Bean
-  TaskFacade taskFacade(TaskRepository taskRepository) {
-    return new TaskFacade(taskRepository);
+  TaskFacade taskFacade(
+          TaskRepository taskRepository,
+          TaskSearchIndex taskSearchIndex,
+          TaskCache taskCache,
+          TaskVersions taskVersions,
+          TaskStatistics taskStatistics,
+          TaskRetryPolicy taskRetryPolicy,
+          ChunkedTaskRemoval chunkedTaskRemoval,
+          TaskIdempotencyStore taskIdempotencyStore,
+          TaskTextFileExport taskTextFileExport,
+          TaskExportJobs taskExportJobs) {
+    return new TaskFacade(
+            taskRepository,
+            taskSearchIndex,
+            taskCache,
+            taskVersions,
+            taskStatistics,
+            taskRetryPolicy,
+            chunkedTaskRemoval,
+            taskIdempotencyStore,
+            taskTextFileExport,
+            taskExportJobs);
+  }
+
+  @Bean
+  TaskTextFileExport taskTextFileExport(
+          TaskRepository taskRepository,
+          @Value("${tasks.text-file.directory:.}") String directory) {
+    return new TaskTextFileExport(taskRepository, Path.of(directory));
+  }
+
+  @Bean
+  TaskExportJobs taskExportJobs(
+          TaskTextFileExport taskTextFileExport,
+          TaskStatistics taskStatistics,
+          @Value("${tasks.export.directory:exports}") Path directory,
+          @Value("${tasks.export.workers:2}") int workers,
+          @Value("${tasks.export.queue-capacity:100}") int queueCapacity,
+          @Value("${tasks.export.max-per-user:2}") int maxJobsPerUser,
+          @Value("${tasks.export.retention:1h}") Duration retention,
+          MeterRegistry meterRegistry) {
+    return new TaskExportJobs(
+            taskTextFileExport,
+            taskStatistics,
+            directory,
+            Math.max(workers, 1),
+            Math.max(queueCapacity, 1),
+            Math.max(maxJobsPerUser, 1),
+            retention,
+            meterRegistry);
+  }
+
+  @Bean
+  TaskIdempotencyStore taskIdempotencyStore(
+          @Value("${tasks.idempotency.maximum-size:10000}") long maximumSize,
+          @Value("${tasks.idempotency.time-to-live:24h}") Duration timeToLive) {
+    return new TaskIdempotencyStore(maximumSize, timeToLive);
+  }
+
+  @Bean
+  ChunkedTaskRemoval chunkedTaskRemoval(
+          TaskRepository taskRepository,
+          PlatformTransactionManager transactionManager,
+          @Value("${tasks.removal.chunk-size:5000}") int chunkSize) {
+    return new ChunkedTaskRemoval(taskRepository, new TransactionTemplate(transactionManager), Math.max(chunkSize, 1));
+  }
+
+  @Bean
+  TaskRetryPolicy taskRetryPolicy(
+          PlatformTransactionManager transactionManager,
+          @Value("${tasks.retry.max-attempts:3}") int maxAttempts) {
+    return new TaskRetryPolicy(new TransactionTemplate(transactionManager), Math.max(maxAttempts, 1));
+  }
+
+  @Bean
+  TaskStatistics taskStatistics() {
+    return new TaskStatistics();
+  }
+
+  @Bean
+  OnStartUpTaskStatisticsRebuild onStartUpTaskStatisticsRebuild(
+          TaskRepository taskRepository,
+          TaskStatistics taskStatistics) {
+    return new OnStartUpTaskStatisticsRebuild(taskRepository, taskStatistics);
+  }
+
+  @Bean
+  OnStartUpTaskIdSequenceRealignment onStartUpTaskIdSequenceRealignment(
+          TaskRepository taskRepository,
+          PlatformTransactionManager transactionManager) {
+    return new OnStartUpTaskIdSequenceRealignment(taskRepository, new TransactionTemplate(transactionManager));
+  }
+
+  @Bean
+  TaskVersions taskVersions(@Value("${tasks.cache.time-to-live:5m}") Duration timeToLive) {
+    return new TaskVersions(timeToLive);
+  }
+
+  @Bean
+  TaskCache taskCache(
+          TaskVersions taskVersions,
+          @Value("${tasks.cache.maximum-weight:100000}") long maximumWeight,
+          @Value("${tasks.cache.time-to-live:5m}") Duration timeToLive) {
+    return new TaskCache(taskVersions, maximumWeight, timeToLive);
+  }
+
+  @Bean
+  TaskSearchIndex taskSearchIndex() {
+    return new TaskSearchIndex();
+  }
+
+  @Bean
+  OnStartUpTaskSearchIndexRebuild onStartUpTaskSearchIndexRebuild(
+          TaskRepository taskRepository,
+          TaskSearchIndex taskSearchIndex) {
+    return new OnStartUpTaskSearchIndexRebuild(taskRepository, taskSearchIndex);
   }
 
   @Bean
-  TaskRepository taskRepository(SpringDataJpaTaskRepository springDataJpaTaskRepository) {
-    return new SpringDataJpaTaskRepositoryAdapter(springDataJpaTaskRepository);
+  TaskRepository taskRepository(
+          SpringDataJpaTaskRepository springDataJpaTaskRepository,
+          EntityManagerFactory entityManagerFactory,
+          PlatformTransactionManager transactionManager,
+          TaskCache taskCache,
+          @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+    var readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+    var springDataJpaTaskRepositoryAdapter = new SpringDataJpaTaskRepositoryAdapter(
+            springDataJpaTaskRepository,
+            SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory),
+            new TransactionTemplate(transactionManager),
+            readOnlyTransaction,
+            batchSize);
+    return new CachingTaskRepository(springDataJpaTaskRepositoryAdapter, taskCache);
   }
 }
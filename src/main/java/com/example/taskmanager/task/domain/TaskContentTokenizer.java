@@ -0,0 +1,32 @@
+package com.example.taskmanager.task.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+abstract class TaskContentTokenizer {
+
+  static final int MIN_TOKEN_LENGTH = 2;
+  static final int MAX_TOKEN_LENGTH = 50;
+
+  static List<String> tokenize(String text) {
+    var tokens = new ArrayList<String>();
+    var tokenStart = -1;
+    for (var i = 0; i <= text.length(); i++) {
+      var isTokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+      if (isTokenChar && tokenStart < 0) {
+        tokenStart = i;
+      } else if (!isTokenChar && tokenStart >= 0) {
+        addToken(tokens, text.substring(tokenStart, i));
+        tokenStart = -1;
+      }
+    }
+    return tokens;
+  }
+
+  private static void addToken(List<String> tokens, String token) {
+    if (token.length() >= MIN_TOKEN_LENGTH && token.length() <= MAX_TOKEN_LENGTH) {
+      tokens.add(token.toLowerCase(Locale.ROOT));
+    }
+  }
+}
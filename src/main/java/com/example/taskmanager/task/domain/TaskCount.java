@@ -0,0 +1,3 @@
+package com.example.taskmanager.task.domain;
+
+record TaskCount(String ownerUsername, TaskStatus status, TaskPriority priority, long count) {}
@@ -0,0 +1,74 @@
+package com.example.taskmanager.task.domain;
+
+import com.example.taskmanager.shared.EventLog;
+import com.example.taskmanager.task.domain.dto.TaskExportJobDTO;
+import com.example.taskmanager.task.domain.error.TaskError;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+@RequiredArgsConstructor
+class TaskExportJob {
+
+  private static final EventLog EVENTS = EventLog.of("task.export");
+
+  private final String id;
+  private final String ownerUsername;
+  private final long totalTasks;
+  private final Path file;
+  private final AtomicLong exportedTasks = new AtomicLong();
+  private volatile TaskExportStatus status = TaskExportStatus.QUEUED;
+  private volatile String error;
+
+  String id() {
+    return id;
+  }
+
+  String ownerUsername() {
+    return ownerUsername;
+  }
+
+  Path file() {
+    return file;
+  }
+
+  boolean isOwnedBy(String username) {
+    return ownerUsername.equals(username);
+  }
+
+  boolean isDone() {
+    return status == TaskExportStatus.DONE;
+  }
+
+  void start() {
+    status = TaskExportStatus.RUNNING;
+  }
+
+  void taskExported() {
+    exportedTasks.incrementAndGet();
+  }
+
+  void finish() {
+    status = TaskExportStatus.DONE;
+  }
+
+  void fail(TaskError taskError) {
+    error = taskError.getMessage();
+    status = TaskExportStatus.FAILED;
+  }
+
+  void deleteFile() {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      EVENTS.warn("tasks.export.file.delete.failed", "path", file, e);
+    }
+  }
+
+  TaskExportJobDTO toView() {
+    return new TaskExportJobDTO(id, status.name(), exportedTasks.get(), totalTasks, error);
+  }
+}
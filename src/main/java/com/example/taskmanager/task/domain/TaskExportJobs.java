@@ -0,0 +1,144 @@
+package com.example.taskmanager.task.domain;
+
+import com.example.taskmanager.shared.EventLog;
+import com.example.taskmanager.task.domain.dto.TaskExportJobDTO;
+import com.example.taskmanager.task.domain.error.TaskError;
+import com.example.taskmanager.task.domain.error.TaskExportError;
+import com.example.taskmanager.task.domain.error.TaskExportNotFoundError;
+import com.example.taskmanager.task.domain.error.TaskExportNotReadyError;
+import com.example.taskmanager.task.domain.error.TaskFilePathError;
+import com.example.taskmanager.task.domain.error.TooManyTaskExportsError;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.vavr.control.Either;
+import io.vavr.control.Option;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TaskExportJobs {
+
+  private static final EventLog EVENTS = EventLog.of("task.export");
+
+  private final TaskTextFileExport taskTextFileExport;
+  private final TaskStatistics taskStatistics;
+  private final Path directory;
+  private final int maxJobsPerUser;
+  private final ThreadPoolExecutor executor;
+  private final Cache<String, TaskExportJob> jobs;
+  private final Map<String, AtomicInteger> activeJobsByOwner = new ConcurrentHashMap<>();
+
+  TaskExportJobs(
+          TaskTextFileExport taskTextFileExport,
+          TaskStatistics taskStatistics,
+          Path directory,
+          int workers,
+          int queueCapacity,
+          int maxJobsPerUser,
+          Duration retention,
+          MeterRegistry meterRegistry) {
+    this.taskTextFileExport = taskTextFileExport;
+    this.taskStatistics = taskStatistics;
+    this.directory = directory;
+    this.maxJobsPerUser = maxJobsPerUser;
+    var threads = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(
+            workers,
+            workers,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              var thread = new Thread(runnable, "task-export-" + threads.incrementAndGet());
+              thread.setDaemon(true);
+              thread.setPriority(Thread.MIN_PRIORITY);
+              return thread;
+            });
+    new ExecutorServiceMetrics(executor, "task.exports", List.of()).bindTo(meterRegistry);
+    this.jobs = Caffeine.newBuilder()
+            .expireAfterWrite(retention)
+            .removalListener((String id, TaskExportJob job, RemovalCause cause) -> {
+              if (job != null) {
+                job.deleteFile();
+              }
+            })
+            .build();
+  }
+
+  Either<TaskError, TaskExportJobDTO> submit(String ownerUsername) {
+    var ownerDirectory = TaskTextFileExport.resolveInside(directory, ownerUsername);
+    if (ownerDirectory.isEmpty()) {
+      return Either.left(new TaskFilePathError(ownerUsername));
+    }
+    var activeJobs = activeJobsByOwner.computeIfAbsent(ownerUsername, owner -> new AtomicInteger());
+    if (activeJobs.incrementAndGet() > maxJobsPerUser) {
+      activeJobs.decrementAndGet();
+      return Either.left(new TooManyTaskExportsError(maxJobsPerUser));
+    }
+    var id = UUID.randomUUID().toString();
+    var job = new TaskExportJob(
+            id,
+            ownerUsername,
+            taskStatistics.stats(ownerUsername).total(),
+            ownerDirectory.get().resolve(id + ".txt"));
+    jobs.put(id, job);
+    try {
+      executor.execute(() -> run(job, activeJobs));
+    } catch (RejectedExecutionException e) {
+      activeJobs.decrementAndGet();
+      jobs.invalidate(id);
+      return Either.left(new TooManyTaskExportsError(maxJobsPerUser));
+    }
+    return Either.right(job.toView());
+  }
+
+  Either<TaskError, TaskExportJobDTO> get(String ownerUsername, String id) {
+    return find(ownerUsername, id)
+            .map(TaskExportJob::toView)
+            .toEither(() -> new TaskExportNotFoundError(id));
+  }
+
+  Either<TaskError, Path> file(String ownerUsername, String id) {
+    return find(ownerUsername, id)
+            .toEither(() -> (TaskError) new TaskExportNotFoundError(id))
+            .flatMap(job -> job.isDone()
+                    ? Either.<TaskError, Path>right(job.file())
+                    : Either.<TaskError, Path>left(new TaskExportNotReadyError(id)));
+  }
+
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private Option<TaskExportJob> find(String ownerUsername, String id) {
+    return Option.of(jobs.getIfPresent(id))
+            .filter(job -> job.isOwnedBy(ownerUsername));
+  }
+
+  private void run(TaskExportJob job, AtomicInteger activeJobs) {
+    try {
+      job.start();
+      taskTextFileExport
+              .save(job.ownerUsername(), job.file(), job::taskExported)
+              .peek(saved -> job.finish())
+              .peekLeft(job::fail);
+    } catch (RuntimeException e) {
+      EVENTS.error("tasks.export.failed", "exportId", job.id(), e);
+      job.fail(new TaskExportError(job.id()));
+    } finally {
+      activeJobs.decrementAndGet();
+    }
+  }
+}
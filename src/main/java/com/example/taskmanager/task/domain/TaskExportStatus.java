@@ -0,0 +1,8 @@
+package com.example.taskmanager.task.domain;
+
+enum TaskExportStatus {
+  QUEUED,
+  RUNNING,
+  DONE,
+  FAILED
+}
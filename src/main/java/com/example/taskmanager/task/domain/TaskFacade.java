@@ -1,156 +1,432 @@
 package com.example.taskmanager.task.domain;
 
+import com.example.taskmanager.shared.EventLog;
+import com.example.taskmanager.shared.SampledEvent;
 import com.example.taskmanager.task.domain.dto.*;
+import com.example.taskmanager.task.domain.error.EmptyTasksSelectionError;
 import com.example.taskmanager.task.domain.error.TaskError;
 import com.example.taskmanager.task.domain.error.TaskNotFoundError;
+import com.example.taskmanager.task.domain.error.TaskRestoreCollisionError;
+import com.example.taskmanager.task.domain.error.TaskVersionMismatchError;
+import com.example.taskmanager.task.domain.error.TooManyTasksInBatchError;
+import io.micrometer.core.annotation.Timed;
 import io.vavr.control.Either;
 import io.vavr.control.Option;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
-@Slf4j
 public class TaskFacade {
 
+  private static final EventLog EVENTS = EventLog.of("task.facade");
+  private static final SampledEvent ALL_TASKS_READ = EVENTS.sampled("tasks.all.read", 100);
+  private static final SampledEvent TASKS_PAGE_READ = EVENTS.sampled("tasks.page.read", 100);
+  private static final SampledEvent TASK_CHANGES_READ = EVENTS.sampled("tasks.changes.read", 100);
+  private static final SampledEvent FILTERED_TASKS_READ = EVENTS.sampled("tasks.filtered.read", 100);
+  private static final SampledEvent TASKS_SEARCHED = EVENTS.sampled("tasks.searched", 100);
+  private static final SampledEvent TASK_READ = EVENTS.sampled("task.read", 100);
+
   private final TaskRepository taskRepository;
+  private final TaskSearchIndex taskSearchIndex;
+  private final TaskCache taskCache;
+  private final TaskVersions taskVersions;
+  private final TaskStatistics taskStatistics;
+  private final TaskRetryPolicy taskRetryPolicy;
+  private final ChunkedTaskRemoval chunkedTaskRemoval;
+  private final TaskIdempotencyStore taskIdempotencyStore;
+  private final TaskTextFileExport taskTextFileExport;
+  private final TaskExportJobs taskExportJobs;
 
   public static final int MAX_TASK_CONTENT_LENGTH = 1000;
+  public static final int DEFAULT_TASKS_PAGE_SIZE = 100;
+  public static final int MAX_TASKS_PAGE_SIZE = 1000;
+  public static final int MAX_TASKS_BATCH_SIZE = 10000;
 
+  @Timed("task.facade")
   public Either<TaskError, TaskViewDTO> createTask(CreateTaskDTO command) {
-    log.info(command.toString());
+    EVENTS.debug("task.create", "username", command.username());
     return Task.create(
                     command.content(),
                     TaskPriority.valueOf(command.priority().name()),
                     TaskStatus.valueOf(command.status().name()),
                     command.username())
             .map(taskRepository::add)
+            .peek(task -> AfterCommit.run(() -> {
+              task.addTo(taskSearchIndex);
+              task.addTo(taskStatistics);
+            }))
             .map(Task::toView)
-            .peek(dto -> log.info(dto.toString()))
-            .peekLeft(error -> log.info(error.toString()));
+            .peek(dto -> EVENTS.info("task.created", "username", command.username(), "taskId", dto.id()))
+            .peekLeft(error -> EVENTS.info("task.create.rejected", "error", error.getMessage()));
+  }
+
+  @Timed("task.facade")
+  public Either<TaskError, TaskViewDTO> createTask(CreateTaskDTO command, String idempotencyKey) {
+    if (idempotencyKey == null || idempotencyKey.isBlank()) {
+      return createTask(command);
+    }
+    EVENTS.debug("task.create.idempotent", "idempotencyKey", idempotencyKey);
+    return taskIdempotencyStore.execute(idempotencyKey, command, () -> createTask(command));
+  }
+
+  @Timed("task.facade")
+  @Transactional
+  public Either<TaskError, List<CreateTaskResultDTO>> createTasks(List<CreateTaskDTO> commands) {
+    EVENTS.debug("tasks.create", "tasks", commands.size());
+    if (commands.size() > MAX_TASKS_BATCH_SIZE) {
+      return Either.<TaskError, List<CreateTaskResultDTO>>left(new TooManyTasksInBatchError(commands.size()))
+              .peekLeft(error -> EVENTS.info("tasks.create.rejected", "error", error.getMessage()));
+    }
+    var candidates = commands
+            .stream()
+            .map(command -> Task.create(
+                    command.content(),
+                    TaskPriority.valueOf(command.priority().name()),
+                    TaskStatus.valueOf(command.status().name()),
+                    command.username()))
+            .collect(Collectors.toList());
+    var tasks = taskRepository.addAll(candidates
+            .stream()
+            .filter(Either::isRight)
+            .map(Either::get)
+            .collect(Collectors.toList()));
+    AfterCommit.run(() -> tasks.forEach(task -> {
+      task.addTo(taskSearchIndex);
+      task.addTo(taskStatistics);
+    }));
+    var results = new ArrayList<CreateTaskResultDTO>(candidates.size());
+    for (var index = 0; index < candidates.size(); index++) {
+      var candidate = candidates.get(index);
+      results.add(candidate.isRight()
+              ? new CreateTaskResultDTO(index, candidate.get().toView(), null)
+              : new CreateTaskResultDTO(index, null, candidate.getLeft()));
+    }
+    EVENTS.info("tasks.created", "tasks", results.size(), "created", tasks.size());
+    return Either.right(results);
   }
+
+  @Timed("task.facade")
+  @Transactional
   public Either<TaskError, TaskViewDTO> changeTaskContent(ChangeTaskContentDTO command) {
-    log.info(command.toString());
-    return taskRepository
-            .getById(command.taskId())
-            .map(task -> task.changeContent(command.newTaskContent())
-                    .map(taskRepository::add)
-                    .map(Task::toView))
-            .getOrElse(Either.left(new TaskNotFoundError(command.taskId())))
-            .peek(done -> log.info(done.toString()))
-            .peekLeft(error -> log.info(error.toString()));
+    EVENTS.debug("task.content.change", "username", command.username(), "taskId", command.taskId());
+    return Task
+            .validateTaskContentFormat(command.newTaskContent())
+            .flatMap(content -> taskRepository
+                    .changeContent(command.username(), command.taskId(), command.expectedVersion(), content)
+                    .toEither(() -> notChangedError(command.username(), command.taskId(), command.expectedVersion())))
+            .flatMap(task -> task.changeContent(command.newTaskContent()))
+            .peek(changedTask -> AfterCommit.run(() -> changedTask.addTo(taskSearchIndex)))
+            .map(Task::toView)
+            .peek(done -> EVENTS.info("task.content.changed", "taskId", done.id(), "version", done.version()))
+            .peekLeft(error -> EVENTS.info("task.content.change.rejected", "error", error.getMessage()));
   }
 
+  @Timed("task.facade")
+  @Transactional
   public Either<TaskError, TaskViewDTO> changeTaskPriority(ChangeTaskPriorityDTO command) {
-    log.info(command.toString());
+    EVENTS.debug("task.priority.change", "username", command.username(), "taskId", command.taskId());
+    var newPriority = TaskPriority.valueOf(command.newPriority());
     return taskRepository
-            .getById(command.taskId())
-            .map(task -> task.changePriority(TaskPriority.valueOf(command.newPriority())))
-            .map(taskRepository::add)
+            .changePriority(command.username(), command.taskId(), command.expectedVersion(), newPriority)
+            .map(task -> replaceInStatistics(task, task.changePriority(newPriority)))
             .map(task -> Either.<TaskError, TaskViewDTO>right(task.toView()))
-            .getOrElse(Either.left(new TaskNotFoundError(command.taskId())))
-            .peek(done -> log.info(done.toString()))
-            .peekLeft(error -> log.info(error.toString()));
+            .getOrElse(() -> Either.left(notChangedError(command.username(), command.taskId(), command.expectedVersion())))
+            .peek(done -> EVENTS.info("task.priority.changed", "taskId", done.id(), "version", done.version()))
+            .peekLeft(error -> EVENTS.info("task.priority.change.rejected", "error", error.getMessage()));
   }
 
+  @Timed("task.facade")
+  @Transactional
   public Either<TaskError, TaskViewDTO> changeTaskStatus(ChangeTaskStatusDTO command) {
-    log.info(command.toString());
+    EVENTS.debug("task.status.change", "username", command.username(), "taskId", command.taskId());
+    var newStatus = TaskStatus.valueOf(command.newStatus());
     return taskRepository
-            .getById(command.taskId())
-            .map(task -> task.changeStatus(TaskStatus.valueOf(command.newStatus())))
-            .map(taskRepository::add)
+            .changeStatus(command.username(), command.taskId(), command.expectedVersion(), newStatus)
+            .map(task -> replaceInStatistics(task, task.changeStatus(newStatus)))
             .map(task -> Either.<TaskError, TaskViewDTO>right(task.toView()))
-            .getOrElse(Either.left(new TaskNotFoundError(command.taskId())))
-            .peek(done -> log.info(done.toString()))
-            .peekLeft(error -> log.info(error.toString()));
+            .getOrElse(() -> Either.left(notChangedError(command.username(), command.taskId(), command.expectedVersion())))
+            .peek(done -> EVENTS.info("task.status.changed", "taskId", done.id(), "version", done.version()))
+            .peekLeft(error -> EVENTS.info("task.status.change.rejected", "error", error.getMessage()));
   }
 
-  public Either<TaskError, TaskViewDTO> removeTask(RemoveTaskDTO command) {
-    log.info(command.toString());
-    return taskRepository
-            .getById(command.taskId())
-            .peek(taskRepository::remove)
-            .map(task -> Either.<TaskError, TaskViewDTO>right(task.toView()))
-            .getOrElse(Either.left(new TaskNotFoundError(command.taskId())))
-            .peek(done -> log.info(done.toString()))
-            .peekLeft(error -> log.info(error.toString()));
+  @Timed("task.facade")
+  @Transactional
+  public Either<TaskError, ChangedTasksDTO> changeTasksStatus(ChangeTasksStatusDTO command) {
+    var newStatus = TaskStatus.valueOf(command.newStatus().name());
+    EVENTS.debug("tasks.status.change", "username", command.selection().username(), "status", newStatus);
+    return taskFilter(command.selection())
+            .map(filter -> changeTasks(filter, selected -> taskRepository.changeStatus(selected, newStatus)))
+            .peek(done -> EVENTS.info("tasks.status.changed", "status", newStatus, "tasks", done.count()))
+            .peekLeft(error -> EVENTS.info("tasks.status.change.rejected", "error", error.getMessage()));
   }
 
+  @Timed("task.facade")
   @Transactional
+  public Either<TaskError, ChangedTasksDTO> changeTasksPriority(ChangeTasksPriorityDTO command) {
+    var newPriority = TaskPriority.valueOf(command.newPriority().name());
+    EVENTS.debug("tasks.priority.change", "username", command.selection().username(), "priority", newPriority);
+    return taskFilter(command.selection())
+            .map(filter -> changeTasks(filter, selected -> taskRepository.changePriority(selected, newPriority)))
+            .peek(done -> EVENTS.info("tasks.priority.changed", "priority", newPriority, "tasks", done.count()))
+            .peekLeft(error -> EVENTS.info("tasks.priority.change.rejected", "error", error.getMessage()));
+  }
+
+  @Timed("task.facade")
+  public Either<TaskError, TaskViewDTO> removeTask(RemoveTaskDTO command) {
+    EVENTS.debug("task.remove", "username", command.username(), "taskId", command.taskId());
+    return taskRetryPolicy
+            .execute(command.taskId(), () -> taskRepository
+                    .getById(command.taskId())
+                    .peek(taskRepository::remove)
+                    .peek(task -> AfterCommit.run(() -> {
+                      task.removeFrom(taskSearchIndex);
+                      task.removeFrom(taskStatistics);
+                    }))
+                    .map(task -> Either.<TaskError, TaskViewDTO>right(task.toView()))
+                    .getOrElse(Either.left(new TaskNotFoundError(command.taskId()))))
+            .peek(done -> EVENTS.info("task.removed", "username", command.username(), "taskId", done.id()))
+            .peekLeft(error -> EVENTS.info("task.remove.rejected", "error", error.getMessage()));
+  }
+
   public void removeAllTask(String username) {
-    log.info(username);
-    taskRepository.removeAll(username);
-    log.info("removed");
+    EVENTS.debug("tasks.remove", "username", username);
+    var removed = chunkedTaskRemoval.removeAll(username);
+    AfterCommit.run(() -> {
+      taskSearchIndex.removeOwner(username);
+      taskStatistics.removeOwner(username);
+    });
+    EVENTS.info("tasks.removed", "username", username, "tasks", removed);
   }
 
+  @Timed("task.facade")
   public List<TaskViewDTO> readAllTasks(ReadAllTasksDTO dto) {
-    log.info(dto.toString());
-    var taskViews= taskRepository
-            .getAllByOwnerUsername(dto.username())
+    var taskViews = new ArrayList<TaskViewDTO>();
+    taskRepository.forEachByOwnerUsername(dto.username(), taskViews::add);
+    ALL_TASKS_READ.log("username", dto.username(), "tasks", taskViews.size());
+    return taskViews;
+  }
+
+  public void streamAllTasks(ReadAllTasksDTO dto, Consumer<TaskViewDTO> action) {
+    EVENTS.debug("tasks.stream", "username", dto.username());
+    taskRepository.forEachByOwnerUsername(dto.username(), action);
+    EVENTS.debug("tasks.streamed", "username", dto.username());
+  }
+
+  public void forEachTaskSnapshot(Consumer<TaskSnapshotDTO> action) {
+    taskRepository.forEach(task -> action.accept(task.toSnapshot()));
+    EVENTS.info("tasks.snapshot.streamed");
+  }
+
+  @Transactional
+  public Either<TaskError, Integer> restoreTasks(List<TaskSnapshotDTO> snapshots) {
+    EVENTS.debug("tasks.restore", "tasks", snapshots.size());
+    var tasks = snapshots
             .stream()
-            .map(Task::toView)
+            .map(snapshot -> Task.restore(
+                    snapshot.id(),
+                    snapshot.uuid(),
+                    snapshot.content(),
+                    TaskPriority.valueOf(snapshot.priority().name()),
+                    TaskStatus.valueOf(snapshot.status().name()),
+                    snapshot.creationDate(),
+                    snapshot.ownerUsername(),
+                    snapshot.version()))
+            .collect(Collectors.toList());
+    var collisions = taskRepository.getRestoreCollisions(tasks);
+    if (!collisions.isEmpty()) {
+      return Either.<TaskError, Integer>left(new TaskRestoreCollisionError(collisions.get(0)))
+              .peekLeft(error -> EVENTS.info("tasks.restore.rejected", "error", error.getMessage()));
+    }
+    var restored = taskRepository.restoreAll(tasks);
+    var ownerUsernames = tasks
+            .stream()
+            .map(Task::getOwnerUsername)
+            .distinct()
+            .collect(Collectors.toList());
+    AfterCommit.run(() -> {
+      tasks.forEach(task -> task.addTo(taskSearchIndex));
+      ownerUsernames.forEach(ownerUsername -> taskStatistics.replaceOwner(
+              ownerUsername,
+              taskRepository.countAllByOwnerUsername(ownerUsername)));
+    });
+    EVENTS.info("tasks.restored", "tasks", restored, "owners", ownerUsernames.size());
+    return Either.right(restored);
+  }
+
+  @Timed("task.facade")
+  public TaskPageDTO readTasksPage(ReadTasksPageDTO dto) {
+    var pageSize = pageSize(dto.size());
+    var tasks = taskRepository.getPageByOwnerUsername(dto.username(), dto.cursor(), pageSize + 1);
+    var taskViews = tasks.size() > pageSize ? tasks.subList(0, pageSize) : tasks;
+    var nextCursor = tasks.size() > pageSize ? taskViews.get(pageSize - 1).id() : null;
+    var result = new TaskPageDTO(taskViews, nextCursor);
+    TASKS_PAGE_READ.log("username", dto.username(), "tasks", taskViews.size());
+    return result;
+  }
+
+  @Timed("task.facade")
+  public TaskChangesDTO readTaskChanges(ReadTaskChangesDTO dto) {
+    var pageSize = pageSize(dto.size());
+    var changes = taskRepository.getChangesByOwnerUsername(dto.username(), dto.since(), pageSize + 1);
+    var page = changes.size() > pageSize ? changes.subList(0, pageSize) : changes;
+    var result = new TaskChangesDTO(
+            page.stream().map(TaskChange::task).filter(Objects::nonNull).collect(Collectors.toList()),
+            page.stream().map(TaskChange::removedTaskId).filter(Objects::nonNull).collect(Collectors.toList()),
+            page.isEmpty() ? dto.since() : page.get(page.size() - 1).changeSeq(),
+            changes.size() > pageSize);
+    TASK_CHANGES_READ.log("username", dto.username(), "changes", page.size());
+    return result;
+  }
+
+  @Timed("task.facade")
+  public List<TaskViewDTO> readFilteredTasks(ReadFilteredTasksDTO dto) {
+    var pageSize = pageSize(dto.size());
+    var filter = new TaskFilter(
+            dto.username(),
+            null,
+            Option.of(dto.status()).map(status -> TaskStatus.valueOf(status.name())).getOrNull(),
+            Option.of(dto.priority()).map(priority -> TaskPriority.valueOf(priority.name())).getOrNull(),
+            dto.createdFrom(),
+            dto.createdTo());
+    var query = new TaskQuery(
+            filter,
+            TaskSortField.valueOf(dto.sortBy().name()),
+            dto.direction() == SortDirectionDTO.DESC,
+            (int) Math.min((long) Math.max(dto.page(), 0) * pageSize, Integer.MAX_VALUE),
+            pageSize);
+    var taskViews = taskRepository.getAll(query);
+    FILTERED_TASKS_READ.log("username", dto.username(), "tasks", taskViews.size());
+    return taskViews;
+  }
+
+  @Timed("task.facade")
+  public List<TaskViewDTO> searchTasks(SearchTasksDTO dto) {
+    var rankedTaskIds = taskSearchIndex.search(dto.username(), dto.query(), pageSize(dto.size()));
+    if (rankedTaskIds.isEmpty()) {
+      return List.of();
+    }
+    var taskViewsById = taskRepository
+            .getAllByOwnerUsernameAndIds(dto.username(), rankedTaskIds)
+            .stream()
+            .collect(Collectors.toMap(TaskViewDTO::id, Function.identity()));
+    var taskViews = rankedTaskIds
+            .stream()
+            .map(taskViewsById::get)
+            .filter(Objects::nonNull)
             .collect(Collectors.toList());
-    log.info(taskViews.toString());
+    TASKS_SEARCHED.log("username", dto.username(), "tasks", taskViews.size());
     return taskViews;
   }
 
+  @Timed("task.facade")
   public Option<TaskViewDTO> readTaskByIdAndOwnerUsername(ReadTaskByOwnerUsernameAndIdDTO dto) {
-    log.info(dto.toString());
-    var result= taskRepository
-            .getTaskByOwnerUsernameAndId(dto.ownerUsername(), dto.taskId())
-            .map(Task::toView);
-    log.info(result.toString());
+    var result = taskRepository.getTaskByOwnerUsernameAndId(dto.ownerUsername(), dto.taskId());
+    TASK_READ.log("username", dto.ownerUsername(), "found", result.isDefined() ? 1 : 0);
+    return result;
+  }
+
+  public TaskStatsDTO readTaskStats(String username) {
+    var result = taskStatistics.stats(username);
+    EVENTS.debug("task.stats.read", "username", username);
+    return result;
+  }
+
+  public String readTasksVersion(String username) {
+    return taskVersions.tag(username);
+  }
+
+  public TaskCacheStatsDTO readTaskCacheStats() {
+    var result = taskCache.stats();
+    EVENTS.debug("task.cache.stats.read", "hitRate", result.hitRate());
     return result;
   }
 
-  public void saveTasksToTextFile(SaveTasksToTextFileDTO command) {
-    log.info(command.toString());
-    if (userDirectoryNotExist(command.username())) {
-      try {
-        Files.createDirectory(Path.of(command.username()));
-      } catch (IOException e) {
-        e.printStackTrace();
-      }
+  public Either<TaskError, SavedTasksFileDTO> saveTasksToTextFile(SaveTasksToTextFileDTO command) {
+    EVENTS.debug("tasks.text.file.save", "username", command.username(), "fileName", command.fileName());
+    return taskTextFileExport
+            .save(command.username(), command.fileName())
+            .peek(done -> EVENTS.info("tasks.text.file.saved", "path", done.path(), "tasks", done.tasks()))
+            .peekLeft(error -> EVENTS.info("tasks.text.file.save.failed", "error", error.getMessage()));
+  }
+
+  public Either<TaskError, TaskExportJobDTO> submitTaskExport(String username) {
+    return taskExportJobs
+            .submit(username)
+            .peek(done -> EVENTS.info("tasks.export.submitted", "username", username, "exportId", done.id()))
+            .peekLeft(error -> EVENTS.info("tasks.export.rejected", "error", error.getMessage()));
+  }
+
+  public Either<TaskError, TaskExportJobDTO> readTaskExport(String username, String exportId) {
+    return taskExportJobs
+            .get(username, exportId)
+            .peek(done -> EVENTS.debug("tasks.export.read", "exportId", exportId, "status", done.status()))
+            .peekLeft(error -> EVENTS.debug("tasks.export.read.rejected", "error", error.getMessage()));
+  }
+
+  public Either<TaskError, Path> readTaskExportFile(String username, String exportId) {
+    return taskExportJobs
+            .file(username, exportId)
+            .peek(done -> EVENTS.debug("tasks.export.file.read", "exportId", exportId))
+            .peekLeft(error -> EVENTS.debug("tasks.export.file.read.rejected", "error", error.getMessage()));
+  }
+
+  private TaskError notChangedError(String ownerUsername, Long taskId, Long expectedVersion) {
+    if (expectedVersion != null && taskRepository.getTaskByOwnerUsernameAndId(ownerUsername, taskId).isDefined()) {
+      return new TaskVersionMismatchError(taskId, expectedVersion);
     }
-    if (userTasksFileAlreadyExists(command.username(), command.fileName())) {
-      try {
-        Files.delete(userTasksFilePath(command.username(), command.fileName()));
-      } catch (IOException e) {
-        e.printStackTrace();
-      }
+    return new TaskNotFoundError(taskId);
+  }
+
+  private ChangedTasksDTO changeTasks(TaskFilter filter, ToIntFunction<TaskFilter> change) {
+    if (filter.ids() != null && filter.ids().isEmpty()) {
+      return new ChangedTasksDTO(0);
+    }
+    var count = change.applyAsInt(filter);
+    if (count > 0) {
+      var taskCounts = taskRepository.countAllByOwnerUsername(filter.ownerUsername());
+      AfterCommit.run(() -> taskStatistics.replaceOwner(filter.ownerUsername(), taskCounts));
     }
-    taskRepository
-            .getAllByOwnerUsername(command.username())
-            .forEach(task -> {
-              try {
-                Files.writeString(
-                        userTasksFilePath(command.username(), command.fileName()),
-                        task.toString() + "\n\n",
-                        StandardOpenOption.CREATE,
-                        StandardOpenOption.APPEND);
-                      } catch (IOException e) {
-                        e.printStackTrace();
-                      }
-                    });
-    log.info("saved");
+    return new ChangedTasksDTO(count);
   }
 
-  private boolean userDirectoryNotExist(String userName) {
-    return Files.notExists(Path.of(userName));
+  private static Either<TaskError, TaskFilter> taskFilter(TasksSelectionDTO selection) {
+    if (selection.ids() == null
+            && selection.status() == null
+            && selection.priority() == null
+            && selection.createdFrom() == null
+            && selection.createdTo() == null) {
+      return Either.left(new EmptyTasksSelectionError());
+    }
+    if (selection.ids() != null && selection.ids().size() > MAX_TASKS_BATCH_SIZE) {
+      return Either.left(new TooManyTasksInBatchError(selection.ids().size()));
+    }
+    return Either.right(new TaskFilter(
+            selection.username(),
+            selection.ids(),
+            Option.of(selection.status()).map(status -> TaskStatus.valueOf(status.name())).getOrNull(),
+            Option.of(selection.priority()).map(priority -> TaskPriority.valueOf(priority.name())).getOrNull(),
+            selection.createdFrom(),
+            selection.createdTo()));
   }
 
-  private boolean userTasksFileAlreadyExists(String username, String fileName) {
-    return Files.exists(userTasksFilePath(username, fileName));
+  private Task replaceInStatistics(Task oldTask, Task newTask) {
+    AfterCommit.run(() -> {
+      oldTask.removeFrom(taskStatistics);
+      newTask.addTo(taskStatistics);
+    });
+    return newTask;
   }
 
-  private Path userTasksFilePath(String userName, String fileName) {
-    return Path.of(userName + "/" + fileName + ".txt");
+  private static int pageSize(int requestedSize) {
+    return Math.min(Math.max(requestedSize, 1), MAX_TASKS_PAGE_SIZE);
   }
 }
@@ -0,0 +1,12 @@
+package com.example.taskmanager.task.domain;
+
+import java.time.Instant;
+import java.util.Collection;
+
+record TaskFilter(
+        String ownerUsername,
+        Collection<Long> ids,
+        TaskStatus status,
+        TaskPriority priority,
+        Instant createdFrom,
+        Instant createdTo) {}
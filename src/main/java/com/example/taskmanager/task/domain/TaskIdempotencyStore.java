@@ -0,0 +1,61 @@
+package com.example.taskmanager.task.domain;
+
+import com.example.taskmanager.task.domain.dto.CreateTaskDTO;
+import com.example.taskmanager.task.domain.dto.TaskViewDTO;
+import com.example.taskmanager.task.domain.error.IdempotencyKeyReusedError;
+import com.example.taskmanager.task.domain.error.TaskError;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.vavr.control.Either;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+class TaskIdempotencyStore implements MeterBinder {
+
+  private final Cache<Key, Entry> entries;
+
+  TaskIdempotencyStore(long maximumSize, Duration timeToLive) {
+    this.entries = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, entries, "tasks.idempotency");
+  }
+
+  Either<TaskError, TaskViewDTO> execute(
+          String idempotencyKey,
+          CreateTaskDTO command,
+          Supplier<Either<TaskError, TaskViewDTO>> action) {
+    var key = new Key(command.username(), idempotencyKey);
+    var entry = new Entry(command, new CompletableFuture<>());
+    var existing = entries.asMap().putIfAbsent(key, entry);
+    if (existing != null) {
+      return existing.command().equals(command)
+              ? existing.result().join()
+              : Either.left(new IdempotencyKeyReusedError(idempotencyKey));
+    }
+    try {
+      var result = action.get();
+      entry.result().complete(result);
+      return result;
+    } catch (RuntimeException e) {
+      entries.asMap().remove(key, entry);
+      entry.result().completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  private record Key(String ownerUsername, String idempotencyKey) {}
+
+  private record Entry(CreateTaskDTO command, CompletableFuture<Either<TaskError, TaskViewDTO>> result) {}
+}
@@ -0,0 +1,3 @@
+package com.example.taskmanager.task.domain;
+
+record TaskQuery(TaskFilter filter, TaskSortField sortBy, boolean descending, int offset, int limit) {}
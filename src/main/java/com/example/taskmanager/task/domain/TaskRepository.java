@@ -1,20 +1,57 @@
 package com.example.taskmanager.task.domain;
 
+import com.example.taskmanager.task.domain.dto.TaskViewDTO;
 import io.vavr.control.Option;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 interface TaskRepository {
 
   Task add(Task task);
 
+  List<Task> addAll(List<Task> tasks);
+
+  int restoreAll(List<Task> tasks);
+
+  List<Long> getRestoreCollisions(List<Task> tasks);
+
+  void realignIdSequence();
+
+  Option<Task> changeContent(String ownerUsername, Long id, Long expectedVersion, String content);
+
+  Option<Task> changePriority(String ownerUsername, Long id, Long expectedVersion, TaskPriority priority);
+
+  Option<Task> changeStatus(String ownerUsername, Long id, Long expectedVersion, TaskStatus status);
+
   void remove(Task task);
 
-  void removeAll(String username);
+  int removeChunk(String ownerUsername, int chunkSize);
+
+  int removeTombstones(String ownerUsername);
 
   Option<Task> getById(Long id);
 
-  Option<Task> getTaskByOwnerUsernameAndId(String ownerUsername, Long id);
+  Option<TaskViewDTO> getTaskByOwnerUsernameAndId(String ownerUsername, Long id);
+
+  List<TaskViewDTO> getPageByOwnerUsername(String ownerUsername, Long afterId, int limit);
+
+  List<TaskViewDTO> getAll(TaskQuery query);
+
+  List<TaskViewDTO> getAllByOwnerUsernameAndIds(String ownerUsername, Collection<Long> ids);
+
+  List<TaskChange> getChangesByOwnerUsername(String ownerUsername, long since, int limit);
+
+  void forEachByOwnerUsername(String ownerUsername, Consumer<TaskViewDTO> action);
+
+  void forEach(Consumer<Task> action);
+
+  List<TaskCount> countAll();
+
+  List<TaskCount> countAllByOwnerUsername(String ownerUsername);
+
+  int changeStatus(TaskFilter filter, TaskStatus status);
 
-  List<Task> getAllByOwnerUsername(String ownerUsername);
+  int changePriority(TaskFilter filter, TaskPriority priority);
 }
@@ -0,0 +1,34 @@
+package com.example.taskmanager.task.domain;
+
+import com.example.taskmanager.shared.EventLog;
+import com.example.taskmanager.task.domain.error.TaskConflictError;
+import com.example.taskmanager.task.domain.error.TaskError;
+import io.vavr.control.Either;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.OptimisticLockException;
+import java.util.function.Supplier;
+
+@RequiredArgsConstructor
+class TaskRetryPolicy {
+
+  private static final EventLog EVENTS = EventLog.of("task.retry");
+
+  private final TransactionTemplate transaction;
+  private final int maxAttempts;
+
+  <T> Either<TaskError, T> execute(Long taskId, Supplier<Either<TaskError, T>> action) {
+    for (var attempt = 1; ; attempt++) {
+      try {
+        return transaction.execute(status -> action.get());
+      } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+        EVENTS.info("task.change.conflict", "taskId", taskId, "attempt", attempt, "maxAttempts", maxAttempts);
+        if (attempt >= maxAttempts) {
+          return Either.left(new TaskConflictError(taskId));
+        }
+      }
+    }
+  }
+}
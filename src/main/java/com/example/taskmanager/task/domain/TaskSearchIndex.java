@@ -0,0 +1,148 @@
+package com.example.taskmanager.task.domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+class TaskSearchIndex {
+
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+
+  private final Map<String, OwnerIndex> ownerIndexes = new ConcurrentHashMap<>();
+
+  void put(String ownerUsername, Long taskId, String content) {
+    ownerIndexes
+            .computeIfAbsent(ownerUsername, owner -> new OwnerIndex())
+            .put(taskId, TaskContentTokenizer.tokenize(content));
+  }
+
+  void remove(String ownerUsername, Long taskId) {
+    var ownerIndex = ownerIndexes.get(ownerUsername);
+    if (ownerIndex != null) {
+      ownerIndex.remove(taskId);
+    }
+  }
+
+  void removeOwner(String ownerUsername) {
+    ownerIndexes.remove(ownerUsername);
+  }
+
+  void clear() {
+    ownerIndexes.clear();
+  }
+
+  List<Long> search(String ownerUsername, String query, int limit) {
+    var ownerIndex = ownerIndexes.get(ownerUsername);
+    if (ownerIndex == null) {
+      return List.of();
+    }
+    return ownerIndex.search(new LinkedHashSet<>(TaskContentTokenizer.tokenize(query)), limit);
+  }
+
+  private record Document(Map<String, Integer> termFrequencies, int length) {}
+
+  private record ScoredTask(Long taskId, double score) {}
+
+  private static class OwnerIndex {
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    void put(Long taskId, List<String> tokens) {
+      var termFrequencies = new HashMap<String, Integer>();
+      tokens.forEach(token -> termFrequencies.merge(token, 1, Integer::sum));
+      lock.writeLock().lock();
+      try {
+        removeDocument(taskId);
+        documents.put(taskId, new Document(termFrequencies, tokens.size()));
+        totalLength += tokens.size();
+        termFrequencies.forEach((term, frequency) -> postings
+                .computeIfAbsent(term, key -> new HashMap<>())
+                .put(taskId, frequency));
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    void remove(Long taskId) {
+      lock.writeLock().lock();
+      try {
+        removeDocument(taskId);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    List<Long> search(Iterable<String> terms, int limit) {
+      lock.readLock().lock();
+      try {
+        if (documents.isEmpty()) {
+          return List.of();
+        }
+        var averageLength = Math.max((double) totalLength / documents.size(), 1.0);
+        var scores = new HashMap<Long, Double>();
+        for (var term : terms) {
+          var termPostings = postings.get(term);
+          if (termPostings == null) {
+            continue;
+          }
+          var documentFrequency = termPostings.size();
+          var idf = Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+          termPostings.forEach((taskId, frequency) -> {
+            var length = documents.get(taskId).length();
+            var score = idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+            scores.merge(taskId, score, Double::sum);
+          });
+        }
+        return topTaskIds(scores, limit);
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    private void removeDocument(Long taskId) {
+      var document = documents.remove(taskId);
+      if (document == null) {
+        return;
+      }
+      totalLength -= document.length();
+      document.termFrequencies().keySet().forEach(term -> {
+        var termPostings = postings.get(term);
+        termPostings.remove(taskId);
+        if (termPostings.isEmpty()) {
+          postings.remove(term);
+        }
+      });
+    }
+
+    private static List<Long> topTaskIds(Map<Long, Double> scores, int limit) {
+      Comparator<ScoredTask> ranking = Comparator
+              .comparingDouble(ScoredTask::score)
+              .thenComparing(ScoredTask::taskId, Comparator.reverseOrder());
+      var top = new PriorityQueue<>(ranking);
+      scores.forEach((taskId, score) -> {
+        top.add(new ScoredTask(taskId, score));
+        if (top.size() > limit) {
+          top.poll();
+        }
+      });
+      var result = new ArrayList<Long>(top.size());
+      while (!top.isEmpty()) {
+        result.add(top.poll().taskId());
+      }
+      Collections.reverse(result);
+      return result;
+    }
+  }
+}
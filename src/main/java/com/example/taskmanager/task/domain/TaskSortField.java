@@ -0,0 +1,14 @@
+package com.example.taskmanager.task.domain;
+
+enum TaskSortField {
+  ID("id"),
+  CREATION_DATE("creationDate"),
+  PRIORITY("priority"),
+  STATUS("status");
+
+  final String attribute;
+
+  TaskSortField(String attribute) {
+    this.attribute = attribute;
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.taskmanager.task.domain;
+
+import com.example.taskmanager.task.domain.dto.TaskStatsDTO;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+class TaskStatistics {
+
+  private final Map<String, OwnerCounters> ownerCounters = new ConcurrentHashMap<>();
+
+  void add(TaskCount taskCount) {
+    ownerCounters
+            .computeIfAbsent(taskCount.ownerUsername(), owner -> new OwnerCounters())
+            .add(taskCount.status(), taskCount.priority(), taskCount.count());
+  }
+
+  void replaceOwner(String ownerUsername, List<TaskCount> taskCounts) {
+    var counters = new OwnerCounters();
+    taskCounts.forEach(taskCount -> counters.add(taskCount.status(), taskCount.priority(), taskCount.count()));
+    ownerCounters.put(ownerUsername, counters);
+  }
+
+  void removeOwner(String ownerUsername) {
+    ownerCounters.remove(ownerUsername);
+  }
+
+  void clear() {
+    ownerCounters.clear();
+  }
+
+  TaskStatsDTO stats(String ownerUsername) {
+    var counters = ownerCounters.get(ownerUsername);
+    return counters == null ? new OwnerCounters().toStats() : counters.toStats();
+  }
+
+  private static class OwnerCounters {
+
+    private final LongAdder[][] counts = new LongAdder[TaskStatus.values().length][TaskPriority.values().length];
+
+    OwnerCounters() {
+      for (var status : TaskStatus.values()) {
+        for (var priority : TaskPriority.values()) {
+          counts[status.ordinal()][priority.ordinal()] = new LongAdder();
+        }
+      }
+    }
+
+    void add(TaskStatus status, TaskPriority priority, long delta) {
+      counts[status.ordinal()][priority.ordinal()].add(delta);
+    }
+
+    TaskStatsDTO toStats() {
+      var byStatus = new LinkedHashMap<String, Long>();
+      var byPriority = new LinkedHashMap<String, Long>();
+      var total = 0L;
+      for (var status : TaskStatus.values()) {
+        for (var priority : TaskPriority.values()) {
+          var count = counts[status.ordinal()][priority.ordinal()].sum();
+          byStatus.merge(status.name(), count, Long::sum);
+          byPriority.merge(priority.name(), count, Long::sum);
+          total += count;
+        }
+      }
+      return new TaskStatsDTO(total, byStatus, byPriority);
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.example.taskmanager.task.domain;
+
+import com.example.taskmanager.shared.EventLog;
+import com.example.taskmanager.task.domain.dto.SavedTasksFileDTO;
+import com.example.taskmanager.task.domain.dto.TaskViewDTO;
+import com.example.taskmanager.task.domain.error.TaskError;
+import com.example.taskmanager.task.domain.error.TaskExportError;
+import com.example.taskmanager.task.domain.error.TaskFilePathError;
+import io.vavr.control.Either;
+import io.vavr.control.Option;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+@RequiredArgsConstructor
+class TaskTextFileExport {
+
+  private static final EventLog EVENTS = EventLog.of("task.export");
+
+  private final TaskRepository taskRepository;
+  private final Path directory;
+
+  Either<TaskError, SavedTasksFileDTO> save(String username, String fileName) {
+    return resolveInside(directory, username)
+            .flatMap(userDirectory -> resolveInside(userDirectory, fileName + ".txt"))
+            .toEither(() -> (TaskError) new TaskFilePathError(fileName))
+            .flatMap(file -> save(username, file, () -> {}));
+  }
+
+  static Option<Path> resolveInside(Path directory, String name) {
+    try {
+      var root = directory.toAbsolutePath().normalize();
+      var resolved = root.resolve(name).normalize();
+      return resolved.startsWith(root) && !resolved.equals(root) ? Option.some(resolved) : Option.none();
+    } catch (InvalidPathException e) {
+      return Option.none();
+    }
+  }
+
+  Either<TaskError, SavedTasksFileDTO> save(String username, Path file, Runnable onTaskSaved) {
+    var target = file.toAbsolutePath();
+    Path temporary = null;
+    try {
+      Files.createDirectories(target.getParent());
+      temporary = Files.createTempFile(target.getParent(), "tasks-", ".tmp");
+      var saved = write(username, temporary, onTaskSaved);
+      move(temporary, target);
+      return Either.right(new SavedTasksFileDTO(target.toString(), saved));
+    } catch (IOException | UncheckedIOException e) {
+      EVENTS.error("tasks.file.save.failed", "username", username, "path", target, e);
+      deleteIfExists(temporary);
+      return Either.left(new TaskExportError(target.getFileName().toString()));
+    }
+  }
+
+  private long write(String username, Path file, Runnable onTaskSaved) throws IOException {
+    var saved = new long[1];
+    try (var writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      taskRepository.forEachByOwnerUsername(username, task -> {
+        writeTask(writer, task);
+        saved[0]++;
+        onTaskSaved.run();
+      });
+    }
+    return saved[0];
+  }
+
+  private static void writeTask(Writer writer, TaskViewDTO task) {
+    try {
+      writer
+              .append("Task(id=").append(String.valueOf(task.id()))
+              .append(", content=").append(task.content())
+              .append(", priority=").append(task.priority())
+              .append(", status=").append(task.status())
+              .append(", creationDate=").append(task.creationDate())
+              .append(", version=").append(String.valueOf(task.version()))
+              .append(")\n\n");
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void move(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static void deleteIfExists(Path file) {
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      EVENTS.warn("tasks.file.delete.failed", "path", file, e);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.example.taskmanager.task.domain;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+class TaskVersions {
+
+  private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+  // Versions are drawn from one shared clock, so an owner whose entry expired restarts above every
+  // version it was ever given and can't match an old cache key or ETag.
+  private final AtomicLong clock = new AtomicLong();
+  private final Cache<String, AtomicLong> versions;
+
+  TaskVersions(Duration idleTime) {
+    this.versions = Caffeine.newBuilder()
+            .expireAfterAccess(idleTime)
+            .build();
+  }
+
+  long current(String ownerUsername) {
+    return version(ownerUsername).get();
+  }
+
+  String tag(String ownerUsername) {
+    return epoch + "." + current(ownerUsername);
+  }
+
+  void bump(String ownerUsername) {
+    advance(ownerUsername);
+    AfterCommit.run(() -> advance(ownerUsername));
+  }
+
+  private void advance(String ownerUsername) {
+    version(ownerUsername).accumulateAndGet(clock.incrementAndGet(), Math::max);
+  }
+
+  private AtomicLong version(String ownerUsername) {
+    return versions.get(ownerUsername, owner -> new AtomicLong(clock.incrementAndGet()));
+  }
+}
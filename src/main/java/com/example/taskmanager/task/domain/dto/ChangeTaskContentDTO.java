@@ -1,3 +1,8 @@
 package com.example.taskmanager.task.domain.dto;
 
-public record ChangeTaskContentDTO(Long taskId, String newTaskContent, String username) {}
+public record ChangeTaskContentDTO(Long taskId, String newTaskContent, String username, Long expectedVersion) {
+
+  public ChangeTaskContentDTO(Long taskId, String newTaskContent, String username) {
+    this(taskId, newTaskContent, username, null);
+  }
+}
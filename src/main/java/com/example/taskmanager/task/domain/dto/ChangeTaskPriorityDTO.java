@@ -1,3 +1,8 @@
 package com.example.taskmanager.task.domain.dto;
 
-public record ChangeTaskPriorityDTO(Long taskId, String newPriority, String username) {}
+public record ChangeTaskPriorityDTO(Long taskId, String newPriority, String username, Long expectedVersion) {
+
+  public ChangeTaskPriorityDTO(Long taskId, String newPriority, String username) {
+    this(taskId, newPriority, username, null);
+  }
+}
@@ -1,3 +1,8 @@
 package com.example.taskmanager.task.domain.dto;
 
-public record ChangeTaskStatusDTO(Long taskId, String newStatus, String username) {}
+public record ChangeTaskStatusDTO(Long taskId, String newStatus, String username, Long expectedVersion) {
+
+  public ChangeTaskStatusDTO(Long taskId, String newStatus, String username) {
+    this(taskId, newStatus, username, null);
+  }
+}
@@ -0,0 +1,5 @@
+package com.example.taskmanager.task.domain.dto;
+
+import com.example.taskmanager.task.domain.error.TaskError;
+
+public record CreateTaskResultDTO(int index, TaskViewDTO task, TaskError error) {}
@@ -0,0 +1,14 @@
+package com.example.taskmanager.task.domain.dto;
+
+import java.time.Instant;
+
+public record ReadFilteredTasksDTO(
+        String username,
+        TaskStatusDTO status,
+        TaskPriorityDTO priority,
+        Instant createdFrom,
+        Instant createdTo,
+        TaskSortFieldDTO sortBy,
+        SortDirectionDTO direction,
+        int page,
+        int size) {}
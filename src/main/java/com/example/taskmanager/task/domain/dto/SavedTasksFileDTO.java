@@ -0,0 +1,3 @@
+package com.example.taskmanager.task.domain.dto;
+
+public record SavedTasksFileDTO(String path, long tasks) {}
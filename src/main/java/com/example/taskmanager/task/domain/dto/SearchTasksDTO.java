@@ -0,0 +1,3 @@
+package com.example.taskmanager.task.domain.dto;
+
+public record SearchTasksDTO(String username, String query, int size) {}
@@ -0,0 +1,6 @@
+package com.example.taskmanager.task.domain.dto;
+
+public enum SortDirectionDTO {
+    ASC,
+    DESC
+}
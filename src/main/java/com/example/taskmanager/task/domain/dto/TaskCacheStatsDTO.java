@@ -0,0 +1,13 @@
+package com.example.taskmanager.task.domain.dto;
+
+import lombok.Builder;
+
+@Builder
+public record TaskCacheStatsDTO(
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount,
+        long evictionWeight,
+        long estimatedSize,
+        long weightedSize) {}
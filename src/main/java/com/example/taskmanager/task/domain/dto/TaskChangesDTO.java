@@ -0,0 +1,5 @@
+package com.example.taskmanager.task.domain.dto;
+
+import java.util.List;
+
+public record TaskChangesDTO(List<TaskViewDTO> changed, List<Long> removed, long cursor, boolean hasMore) {}
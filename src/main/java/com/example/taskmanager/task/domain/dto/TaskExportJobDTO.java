@@ -0,0 +1,3 @@
+package com.example.taskmanager.task.domain.dto;
+
+public record TaskExportJobDTO(String id, String status, long exportedTasks, long totalTasks, String error) {}
@@ -0,0 +1,5 @@
+package com.example.taskmanager.task.domain.dto;
+
+import java.util.List;
+
+public record TaskPageDTO(List<TaskViewDTO> tasks, Long nextCursor) {}
@@ -0,0 +1,14 @@
+package com.example.taskmanager.task.domain.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record TaskSnapshotDTO(
+        UUID uuid,
+        Long id,
+        String content,
+        TaskPriorityDTO priority,
+        TaskStatusDTO status,
+        Instant creationDate,
+        String ownerUsername,
+        Long version) {}
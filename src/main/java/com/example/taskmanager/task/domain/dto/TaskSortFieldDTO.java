@@ -0,0 +1,8 @@
+package com.example.taskmanager.task.domain.dto;
+
+public enum TaskSortFieldDTO {
+    ID,
+    CREATION_DATE,
+    PRIORITY,
+    STATUS
+}
@@ -0,0 +1,5 @@
+package com.example.taskmanager.task.domain.dto;
+
+import java.util.Map;
+
+public record TaskStatsDTO(long total, Map<String, Long> byStatus, Map<String, Long> byPriority) {}
@@ -2,5 +2,18 @@ package com.example.taskmanager.task.domain.dto;
 
 import lombok.Builder;
 
+import java.time.Instant;
+
 @Builder
-public record TaskViewDTO(Long id, String content, String priority, String status, String creationDate) {}
+public record TaskViewDTO(
+        Long id,
+        String content,
+        String priority,
+        String status,
+        String creationDate,
+        Long version) {
+
+  public TaskViewDTO(Long id, String content, Enum<?> priority, Enum<?> status, Instant creationDate, Long version) {
+    this(id, content, priority.toString(), status.toString(), creationDate.toString(), version);
+  }
+}
@@ -0,0 +1,12 @@
+package com.example.taskmanager.task.domain.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record TasksSelectionDTO(
+        String username,
+        List<Long> ids,
+        TaskStatusDTO status,
+        TaskPriorityDTO priority,
+        Instant createdFrom,
+        Instant createdTo) {}
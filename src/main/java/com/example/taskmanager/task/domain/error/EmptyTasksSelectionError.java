@@ -0,0 +1,8 @@
+package com.example.taskmanager.task.domain.error;
+
+public class EmptyTasksSelectionError extends TaskError {
+
+  public EmptyTasksSelectionError() {
+    super("Tasks selection must contain ids or at least one filter");
+  }
+}
@@ -0,0 +1,8 @@
+package com.example.taskmanager.task.domain.error;
+
+public class IdempotencyKeyReusedError extends TaskError {
+
+  public IdempotencyKeyReusedError(String idempotencyKey) {
+    super("Idempotency key was already used for a different request: " + idempotencyKey);
+  }
+}
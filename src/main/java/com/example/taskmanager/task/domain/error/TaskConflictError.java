@@ -0,0 +1,8 @@
+package com.example.taskmanager.task.domain.error;
+
+public class TaskConflictError extends TaskError {
+
+  public TaskConflictError(Long taskId) {
+    super("Task was changed concurrently: " + taskId);
+  }
+}
@@ -0,0 +1,8 @@
+package com.example.taskmanager.task.domain.error;
+
+public class TaskExportError extends TaskError {
+
+  public TaskExportError(String fileName) {
+    super("Could not save tasks to file: " + fileName);
+  }
+}
@@ -0,0 +1,8 @@
+package com.example.taskmanager.task.domain.error;
+
+public class TaskExportNotFoundError extends TaskError {
+
+  public TaskExportNotFoundError(String exportId) {
+    super("Task export not found: " + exportId);
+  }
+}
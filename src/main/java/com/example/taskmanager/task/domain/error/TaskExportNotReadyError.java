@@ -0,0 +1,8 @@
+package com.example.taskmanager.task.domain.error;
+
+public class TaskExportNotReadyError extends TaskError {
+
+  public TaskExportNotReadyError(String exportId) {
+    super("Task export is not finished: " + exportId);
+  }
+}
@@ -0,0 +1,8 @@
+package com.example.taskmanager.task.domain.error;
+
+public class TaskFilePathError extends TaskError {
+
+  public TaskFilePathError(String name) {
+    super("File name leaves the tasks directory: " + name);
+  }
+}
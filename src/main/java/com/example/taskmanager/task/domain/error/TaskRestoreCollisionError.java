@@ -0,0 +1,8 @@
+package com.example.taskmanager.task.domain.error;
+
+public class TaskRestoreCollisionError extends TaskError {
+
+  public TaskRestoreCollisionError(Long taskId) {
+    super("Task " + taskId + " belongs to another owner or has another uuid");
+  }
+}
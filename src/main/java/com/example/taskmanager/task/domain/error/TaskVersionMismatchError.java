@@ -0,0 +1,8 @@
+package com.example.taskmanager.task.domain.error;
+
+public class TaskVersionMismatchError extends TaskError {
+
+  public TaskVersionMismatchError(Long taskId, Long expectedVersion) {
+    super("Task " + taskId + " is no longer at version " + expectedVersion);
+  }
+}
@@ -0,0 +1,8 @@
+package com.example.taskmanager.task.domain.error;
+
+public class TooManyTaskExportsError extends TaskError {
+
+  public TooManyTaskExportsError(int maxExportsPerUser) {
+    super("Too many task exports in progress, max per user: " + maxExportsPerUser);
+  }
+}
@@ -0,0 +1,10 @@
+package com.example.taskmanager.task.domain.error;
+
+import static com.example.taskmanager.task.domain.TaskFacade.MAX_TASKS_BATCH_SIZE;
+
+public class TooManyTasksInBatchError extends TaskError {
+
+  public TooManyTasksInBatchError(int size) {
+    super("Too many tasks in batch: " + size + " Max: " + MAX_TASKS_BATCH_SIZE);
+  }
+}
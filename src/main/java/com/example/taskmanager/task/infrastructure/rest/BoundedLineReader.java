@@ -0,0 +1,59 @@
+package com.example.taskmanager.task.infrastructure.rest;
+
+import java.io.IOException;
+import java.io.Reader;
+
+class BoundedLineReader {
+
+  private final Reader reader;
+  private final int maxLength;
+  private final char[] buffer = new char[8192];
+  private final StringBuilder line = new StringBuilder();
+  private int position;
+  private int limit;
+  private boolean skipLineFeed;
+  private boolean tooLong;
+
+  BoundedLineReader(Reader reader, int maxLength) {
+    this.reader = reader;
+    this.maxLength = maxLength;
+  }
+
+  // Keeps at most maxLength characters of a line and drops the rest, so one huge line can't
+  // exhaust the heap; lastLineTooLong() tells the caller the returned line was cut.
+  String readLine() throws IOException {
+    line.setLength(0);
+    tooLong = false;
+    var read = false;
+    while (true) {
+      if (position == limit) {
+        limit = Math.max(reader.read(buffer, 0, buffer.length), 0);
+        position = 0;
+        if (limit == 0) {
+          return read ? line.toString() : null;
+        }
+      }
+      var character = buffer[position++];
+      if (skipLineFeed) {
+        skipLineFeed = false;
+        if (character == '\n') {
+          continue;
+        }
+      }
+      read = true;
+      if (character == '\n' || character == '\r') {
+        skipLineFeed = character == '\r';
+        return line.toString();
+      }
+      if (line.length() < maxLength) {
+        line.append(character);
+      } else {
+        tooLong = true;
+      }
+    }
+  }
+
+  boolean lastLineTooLong() {
+    return tooLong;
+  }
+}
@@ -0,0 +1,24 @@
+package com.example.taskmanager.task.infrastructure.rest;
+
+import com.example.taskmanager.task.domain.dto.TaskPriorityDTO;
+import com.example.taskmanager.task.domain.dto.TaskStatusDTO;
+import lombok.*;
+
+import javax.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@Getter
+@ToString
+public
+class ChangeTasksStatusHttpDTO {
+    private List<Long> ids;
+    private TaskStatusDTO status;
+    private TaskPriorityDTO priority;
+    private Instant createdFrom;
+    private Instant createdTo;
+    @NotNull(message = "Must not be empty")
+    private TaskStatusDTO newStatus;
+}
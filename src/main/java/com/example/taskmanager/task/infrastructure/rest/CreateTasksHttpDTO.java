@@ -0,0 +1,17 @@
+package com.example.taskmanager.task.infrastructure.rest;
+
+import lombok.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@AllArgsConstructor
+@Getter
+@ToString
+public
+class CreateTasksHttpDTO {
+    @NotNull
+    private List<@NotNull @Valid CreateTaskHttpDTO> tasks;
+}
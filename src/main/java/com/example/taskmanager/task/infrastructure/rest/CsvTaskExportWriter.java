@@ -0,0 +1,47 @@
+package com.example.taskmanager.task.infrastructure.rest;
+
+import com.example.taskmanager.task.domain.dto.TaskViewDTO;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+class CsvTaskExportWriter implements TaskExportWriter {
+
+  static final String HEADER = "id,content,priority,status,creationDate,version";
+
+  private final Writer writer;
+
+  CsvTaskExportWriter(OutputStream outputStream) throws IOException {
+    this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    this.writer.write(HEADER);
+    this.writer.write("\r\n");
+  }
+
+  @Override
+  public void write(TaskViewDTO task) throws IOException {
+    writer
+            .append(String.valueOf(task.id())).append(',')
+            .append(escape(task.content())).append(',')
+            .append(task.priority()).append(',')
+            .append(task.status()).append(',')
+            .append(task.creationDate()).append(',')
+            .append(String.valueOf(task.version()))
+            .append("\r\n");
+  }
+
+  @Override
+  public void finish() throws IOException {
+    writer.flush();
+  }
+
+  private static String escape(String value) {
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
@@ -0,0 +1,122 @@
+package com.example.taskmanager.task.infrastructure.rest;
+
+import io.vavr.control.Option;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+class CsvTaskImportReader implements TaskImportReader {
+
+  private static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+  private final BoundedLineReader reader;
+  private final int contentColumn;
+  private final int priorityColumn;
+  private final int statusColumn;
+  private long line;
+  private long recordLine;
+  private boolean recordTooLong;
+
+  CsvTaskImportReader(BufferedReader reader) throws IOException {
+    this.reader = new BoundedLineReader(reader, MAX_RECORD_LENGTH);
+    var header = nextFields();
+    if (header == null) {
+      throw new TaskImportFormatException("Missing CSV header");
+    }
+    if (recordTooLong) {
+      throw new TaskImportFormatException("CSV header exceeds " + MAX_RECORD_LENGTH + " characters");
+    }
+    var columns = header
+            .stream()
+            .map(column -> column.trim().toLowerCase(Locale.ROOT))
+            .toList();
+    this.contentColumn = column(columns, "content");
+    this.priorityColumn = column(columns, "priority");
+    this.statusColumn = column(columns, "status");
+  }
+
+  @Override
+  public Option<TaskImportRecord> next() throws IOException {
+    List<String> fields;
+    do {
+      fields = nextFields();
+    } while (fields != null && !recordTooLong && fields.size() == 1 && fields.get(0).isBlank());
+    if (fields == null) {
+      return Option.none();
+    }
+    if (recordTooLong) {
+      return Option.of(TaskImportRecord.invalid(recordLine, "Record exceeds " + MAX_RECORD_LENGTH + " characters"));
+    }
+    var maxColumn = Math.max(contentColumn, Math.max(priorityColumn, statusColumn));
+    if (fields.size() <= maxColumn) {
+      return Option.of(TaskImportRecord.invalid(recordLine, "Expected at least " + (maxColumn + 1) + " columns"));
+    }
+    return Option.of(TaskImportRecord.valid(
+            recordLine,
+            fields.get(contentColumn),
+            fields.get(priorityColumn),
+            fields.get(statusColumn)));
+  }
+
+  private static int column(List<String> columns, String name) {
+    var index = columns.indexOf(name);
+    if (index < 0) {
+      throw new TaskImportFormatException("Missing CSV column: " + name);
+    }
+    return index;
+  }
+
+  private List<String> nextFields() throws IOException {
+    var value = reader.readLine();
+    if (value == null) {
+      return null;
+    }
+    recordLine = ++line;
+    recordTooLong = reader.lastLineTooLong();
+    if (recordTooLong) {
+      return List.of();
+    }
+    var fields = new ArrayList<String>();
+    var field = new StringBuilder();
+    var quoted = false;
+    var index = 0;
+    while (true) {
+      if (index == value.length()) {
+        if (!quoted) {
+          break;
+        }
+        value = reader.readLine();
+        if (value == null || reader.lastLineTooLong() || field.length() + value.length() > MAX_RECORD_LENGTH) {
+          throw new TaskImportFormatException("Unterminated quoted field starting at line " + recordLine);
+        }
+        line++;
+        field.append('\n');
+        index = 0;
+        continue;
+      }
+      var character = value.charAt(index++);
+      if (quoted) {
+        if (character != '"') {
+          field.append(character);
+        } else if (index < value.length() && value.charAt(index) == '"') {
+          field.append('"');
+          index++;
+        } else {
+          quoted = false;
+        }
+      } else if (character == '"') {
+        quoted = true;
+      } else if (character == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(character);
+      }
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+}
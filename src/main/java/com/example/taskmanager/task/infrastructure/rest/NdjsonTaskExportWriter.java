@@ -0,0 +1,30 @@
+package com.example.taskmanager.task.infrastructure.rest;
+
+import com.example.taskmanager.task.domain.dto.TaskViewDTO;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+class NdjsonTaskExportWriter implements TaskExportWriter {
+
+  private final OutputStream outputStream;
+  private final ObjectWriter objectWriter;
+
+  NdjsonTaskExportWriter(OutputStream outputStream, ObjectWriter objectWriter) {
+    this.outputStream = new BufferedOutputStream(outputStream);
+    this.objectWriter = objectWriter;
+  }
+
+  @Override
+  public void write(TaskViewDTO task) throws IOException {
+    outputStream.write(objectWriter.writeValueAsBytes(task));
+    outputStream.write('\n');
+  }
+
+  @Override
+  public void finish() throws IOException {
+    outputStream.flush();
+  }
+}
@@ -0,0 +1,56 @@
+package com.example.taskmanager.task.infrastructure.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vavr.control.Option;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+class NdjsonTaskImportReader implements TaskImportReader {
+
+  private static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+  private final BoundedLineReader reader;
+  private final ObjectMapper objectMapper;
+  private long line;
+
+  NdjsonTaskImportReader(BufferedReader reader, ObjectMapper objectMapper) {
+    this.reader = new BoundedLineReader(reader, MAX_RECORD_LENGTH);
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public Option<TaskImportRecord> next() throws IOException {
+    String value;
+    do {
+      value = reader.readLine();
+      line++;
+    } while (value != null && !reader.lastLineTooLong() && value.isBlank());
+    if (value == null) {
+      return Option.none();
+    }
+    if (reader.lastLineTooLong()) {
+      return Option.of(TaskImportRecord.invalid(line, "Line exceeds " + MAX_RECORD_LENGTH + " characters"));
+    }
+    try {
+      var node = objectMapper.readTree(value);
+      if (!node.isObject()) {
+        return Option.of(TaskImportRecord.invalid(line, "Expected a JSON object"));
+      }
+      return Option.of(TaskImportRecord.valid(
+              line,
+              text(node, "content"),
+              text(node, "priority"),
+              text(node, "status")));
+    } catch (JsonProcessingException e) {
+      return Option.of(TaskImportRecord.invalid(line, "Malformed JSON: " + e.getOriginalMessage()));
+    }
+  }
+
+  private static String text(JsonNode node, String field) {
+    var value = node.get(field);
+    return value == null || value.isNull() ? null : value.asText();
+  }
+}
@@ -1,19 +1,49 @@
 package com.example.taskmanager.task.infrastructure.rest;
 
+import com.example.taskmanager.task.domain.error.IdempotencyKeyReusedError;
+import com.example.taskmanager.task.domain.error.TaskConflictError;
 import com.example.taskmanager.task.domain.error.TaskError;
+import com.example.taskmanager.task.domain.error.TaskExportError;
+import com.example.taskmanager.task.domain.error.TaskExportNotFoundError;
+import com.example.taskmanager.task.domain.error.TaskExportNotReadyError;
 import com.example.taskmanager.task.domain.error.TaskNotFoundError;
+import com.example.taskmanager.task.domain.error.TaskVersionMismatchError;
+import com.example.taskmanager.task.domain.error.TooManyTaskExportsError;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
 @Component
+@RequiredArgsConstructor
 class TaskErrorDispatcher {
 
+  private final MeterRegistry meterRegistry;
+
   ResponseEntity<?> dispatch(TaskError error) {
-    if (error instanceof TaskNotFoundError) {
-      return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    var status = status(error);
+    meterRegistry
+            .counter("task.errors", "error", error.getClass().getSimpleName(), "status", String.valueOf(status.value()))
+            .increment();
+    return new ResponseEntity<>(error, status);
+  }
+
+  private static HttpStatus status(TaskError error) {
+    if (error instanceof TaskNotFoundError || error instanceof TaskExportNotFoundError) {
+      return HttpStatus.NOT_FOUND;
+    } else if (error instanceof TaskVersionMismatchError) {
+      return HttpStatus.PRECONDITION_FAILED;
+    } else if (error instanceof TaskConflictError || error instanceof TaskExportNotReadyError) {
+      return HttpStatus.CONFLICT;
+    } else if (error instanceof TooManyTaskExportsError) {
+      return HttpStatus.TOO_MANY_REQUESTS;
+    } else if (error instanceof TaskExportError) {
+      return HttpStatus.INTERNAL_SERVER_ERROR;
+    } else if (error instanceof IdempotencyKeyReusedError) {
+      return HttpStatus.UNPROCESSABLE_ENTITY;
     } else {
-      return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+      return HttpStatus.BAD_REQUEST;
     }
   }
 }
@@ -0,0 +1,12 @@
+package com.example.taskmanager.task.infrastructure.rest;
+
+import com.example.taskmanager.task.domain.dto.TaskViewDTO;
+
+import java.io.IOException;
+
+interface TaskExportWriter {
+
+  void write(TaskViewDTO task) throws IOException;
+
+  void finish() throws IOException;
+}
@@ -0,0 +1,49 @@
+package com.example.taskmanager.task.infrastructure.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vavr.collection.Stream;
+import io.vavr.control.Option;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+
+enum TaskFileFormat {
+  CSV(new MediaType("text", "csv")) {
+    @Override
+    TaskExportWriter writer(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+      return new CsvTaskExportWriter(outputStream);
+    }
+
+    @Override
+    TaskImportReader reader(BufferedReader reader, ObjectMapper objectMapper) throws IOException {
+      return new CsvTaskImportReader(reader);
+    }
+  },
+  NDJSON(MediaType.APPLICATION_NDJSON) {
+    @Override
+    TaskExportWriter writer(OutputStream outputStream, ObjectMapper objectMapper) {
+      return new NdjsonTaskExportWriter(outputStream, objectMapper.writer());
+    }
+
+    @Override
+    TaskImportReader reader(BufferedReader reader, ObjectMapper objectMapper) {
+      return new NdjsonTaskImportReader(reader, objectMapper);
+    }
+  };
+
+  final MediaType mediaType;
+
+  TaskFileFormat(MediaType mediaType) {
+    this.mediaType = mediaType;
+  }
+
+  abstract TaskExportWriter writer(OutputStream outputStream, ObjectMapper objectMapper) throws IOException;
+
+  abstract TaskImportReader reader(BufferedReader reader, ObjectMapper objectMapper) throws IOException;
+
+  static Option<TaskFileFormat> of(String name) {
+    return Stream.of(values()).find(format -> format.name().equalsIgnoreCase(name));
+  }
+}
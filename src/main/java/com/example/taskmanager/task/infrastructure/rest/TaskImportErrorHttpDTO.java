@@ -0,0 +1,3 @@
+package com.example.taskmanager.task.infrastructure.rest;
+
+public record TaskImportErrorHttpDTO(long line, String message) {}
@@ -0,0 +1,8 @@
+package com.example.taskmanager.task.infrastructure.rest;
+
+class TaskImportFormatException extends RuntimeException {
+
+  TaskImportFormatException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,10 @@
+package com.example.taskmanager.task.infrastructure.rest;
+
+import io.vavr.control.Option;
+
+import java.io.IOException;
+
+interface TaskImportReader {
+
+  Option<TaskImportRecord> next() throws IOException;
+}
@@ -0,0 +1,12 @@
+package com.example.taskmanager.task.infrastructure.rest;
+
+record TaskImportRecord(long line, String content, String priority, String status, String error) {
+
+  static TaskImportRecord valid(long line, String content, String priority, String status) {
+    return new TaskImportRecord(line, content, priority, status, null);
+  }
+
+  static TaskImportRecord invalid(long line, String error) {
+    return new TaskImportRecord(line, null, null, null, error);
+  }
+}
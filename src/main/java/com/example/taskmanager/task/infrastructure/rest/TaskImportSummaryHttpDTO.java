@@ -0,0 +1,10 @@
+package com.example.taskmanager.task.infrastructure.rest;
+
+import java.util.List;
+
+public record TaskImportSummaryHttpDTO(
+        long records,
+        long imported,
+        long rejected,
+        List<TaskImportErrorHttpDTO> errors,
+        boolean errorsTruncated) {}
@@ -0,0 +1,98 @@
+package com.example.taskmanager.task.infrastructure.rest;
+
+import com.example.taskmanager.shared.EventLog;
+import com.example.taskmanager.task.domain.TaskFacade;
+import com.example.taskmanager.task.domain.dto.CreateTaskDTO;
+import com.example.taskmanager.task.domain.dto.TaskPriorityDTO;
+import com.example.taskmanager.task.domain.dto.TaskStatusDTO;
+import io.vavr.control.Either;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+@RequiredArgsConstructor
+class TaskImporter {
+
+  private static final EventLog EVENTS = EventLog.of("task.rest");
+
+  private final TaskFacade taskFacade;
+  private final int chunkSize;
+  private final int maxReportedErrors;
+
+  private final List<TaskImportErrorHttpDTO> errors = new ArrayList<>();
+  private long records;
+  private long imported;
+  private long rejected;
+
+  TaskImportSummaryHttpDTO importTasks(String username, TaskImportReader reader) throws IOException {
+    var lines = new ArrayList<Long>(chunkSize);
+    var chunk = new ArrayList<CreateTaskDTO>(chunkSize);
+    for (var record = reader.next(); record.isDefined(); record = reader.next()) {
+      records++;
+      var task = toCreateTaskDTO(record.get(), username);
+      if (task.isLeft()) {
+        reject(record.get().line(), task.getLeft());
+        continue;
+      }
+      lines.add(record.get().line());
+      chunk.add(task.get());
+      if (chunk.size() == chunkSize) {
+        flush(lines, chunk);
+      }
+    }
+    flush(lines, chunk);
+    errors.sort(Comparator.comparingLong(TaskImportErrorHttpDTO::line));
+    return new TaskImportSummaryHttpDTO(records, imported, rejected, List.copyOf(errors), rejected > errors.size());
+  }
+
+  private void flush(List<Long> lines, List<CreateTaskDTO> chunk) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    taskFacade
+            .createTasks(chunk)
+            .peek(results -> results.forEach(result -> {
+              if (result.error() == null) {
+                imported++;
+              } else {
+                reject(lines.get(result.index()), result.error().getMessage());
+              }
+            }))
+            .peekLeft(error -> lines.forEach(line -> reject(line, error.getMessage())));
+    EVENTS.debug("tasks.import.chunk", "imported", imported, "rejected", rejected);
+    lines.clear();
+    chunk.clear();
+  }
+
+  private void reject(long line, String message) {
+    rejected++;
+    if (errors.size() < maxReportedErrors) {
+      errors.add(new TaskImportErrorHttpDTO(line, message));
+    }
+  }
+
+  private static Either<String, CreateTaskDTO> toCreateTaskDTO(TaskImportRecord record, String username) {
+    if (record.error() != null) {
+      return Either.left(record.error());
+    }
+    if (record.content() == null) {
+      return Either.left("Missing content");
+    }
+    if (record.priority() == null || record.status() == null) {
+      return Either.left("Missing " + (record.priority() == null ? "priority" : "status"));
+    }
+    try {
+      return Either.right(new CreateTaskDTO(
+              record.content(),
+              TaskPriorityDTO.valueOf(record.priority().trim().toUpperCase(Locale.ROOT)),
+              TaskStatusDTO.valueOf(record.status().trim().toUpperCase(Locale.ROOT)),
+              username));
+    } catch (IllegalArgumentException e) {
+      return Either.left("Unknown priority or status: " + record.priority() + ", " + record.status());
+    }
+  }
+}
@@ -1,64 +1,144 @@
 package com.example.taskmanager.task.infrastructure.rest;
 
+import com.example.taskmanager.shared.EventLog;
 import com.example.taskmanager.task.domain.TaskFacade;
 import com.example.taskmanager.task.domain.dto.*;
+import com.example.taskmanager.task.domain.error.TaskNotFoundError;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static com.example.taskmanager.task.domain.TaskFacade.DEFAULT_TASKS_PAGE_SIZE;
 
 @RestController
 @RequiredArgsConstructor
-@Slf4j
 class TaskRestController {
 
+  private static final EventLog EVENTS = EventLog.of("task.rest");
+
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+  static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+  private static final String GZIP = "gzip";
+  private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+  private static final int IMPORT_BUFFER_SIZE = 64 * 1024;
+  private static final int IMPORT_CHUNK_SIZE = 1000;
+  private static final int MAX_REPORTED_IMPORT_ERRORS = 100;
+
   private final TaskFacade taskFacade;
   private final TaskErrorDispatcher taskErrorDispatcher;
+  private final ObjectMapper objectMapper;
 
   @PostMapping("/tasks")
   ResponseEntity<?> createTask(
           @RequestBody @Valid CreateTaskHttpDTO request,
+          @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
           Principal principal) {
-    log.info(request.toString());
-    log.info(principal.toString());
     var dto = new CreateTaskDTO(
             request.getContent(),
             request.getPriority(),
             request.getStatus(),
             principal.getName());
-    log.info(dto.toString());
     var result = taskFacade
-        .createTask(dto)
+        .createTask(dto, idempotencyKey)
         .fold(
                 taskErrorDispatcher::dispatch,
                 viewDTO -> new ResponseEntity<>(viewDTO, HttpStatus.CREATED));
-    log.info(result.toString());
+    EVENTS.debug("createTask", "username", principal.getName(), "status", result.getStatusCodeValue());
     return result;
   }
 
+  @PostMapping("/tasks/batch")
+  ResponseEntity<?> createTasks(
+          @RequestBody @Valid CreateTasksHttpDTO request,
+          Principal principal) {
+    var dtos = request
+            .getTasks()
+            .stream()
+            .map(task -> new CreateTaskDTO(
+                    task.getContent(),
+                    task.getPriority(),
+                    task.getStatus(),
+                    principal.getName()))
+            .collect(Collectors.toList());
+    var result = taskFacade
+        .createTasks(dtos)
+        .fold(
+                taskErrorDispatcher::dispatch,
+                results -> new ResponseEntity<>(results, HttpStatus.OK));
+    EVENTS.debug("createTasks", "username", principal.getName(), "status", result.getStatusCodeValue());
+    return result;
+  }
+
+  @PostMapping("/tasks/import")
+  ResponseEntity<?> importTasks(
+          @RequestParam(defaultValue = "ndjson") String format,
+          @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+          InputStream body,
+          Principal principal) throws IOException {
+    var importFormat = TaskFileFormat.of(format);
+    var gzip = GZIP.equalsIgnoreCase(contentEncoding);
+    if (importFormat.isEmpty() || (contentEncoding != null && !gzip)) {
+      return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+    }
+    var inputStream = gzip ? new GZIPInputStream(body, IMPORT_BUFFER_SIZE) : body;
+    var charReader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+    try (var reader = new BufferedReader(charReader, IMPORT_BUFFER_SIZE)) {
+      var summary = new TaskImporter(taskFacade, IMPORT_CHUNK_SIZE, MAX_REPORTED_IMPORT_ERRORS)
+              .importTasks(principal.getName(), importFormat.get().reader(reader, objectMapper));
+      if (EVENTS.isInfoEnabled()) {
+        EVENTS.info("tasks.imported",
+                "username", principal.getName(),
+                "records", summary.records(),
+                "imported", summary.imported(),
+                "rejected", summary.rejected());
+      }
+      return new ResponseEntity<>(summary, HttpStatus.OK);
+    } catch (TaskImportFormatException e) {
+      EVENTS.info("tasks.import.rejected", "username", principal.getName(), "reason", e.getMessage());
+      return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+  }
+
   @PatchMapping("/tasks/{taskId}/content")
   ResponseEntity<?> changeTaskContent(
       @PathVariable Long taskId,
       @RequestBody @Valid ChangeTaskContentHttpDTO request,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
       Principal principal) {
-    log.info(taskId.toString());
-    log.info(request.toString());
-    log.info(principal.toString());
     var dto = new ChangeTaskContentDTO(
             taskId,
             request.getNewContent(),
-            principal.getName());
-    log.info(dto.toString());
+            principal.getName(),
+            expectedVersion(ifMatch));
     var result = taskFacade
         .changeTaskContent(dto)
         .fold(
                 taskErrorDispatcher::dispatch,
-                viewDTO -> new ResponseEntity<>(viewDTO, HttpStatus.OK));
-    log.info(result.toString());
+                TaskRestController::versionedTask);
+    EVENTS.debug("changeTaskContent", "username", principal.getName(), "status", result.getStatusCodeValue());
     return result;
   }
 
@@ -66,21 +146,19 @@ class TaskRestController {
   ResponseEntity<?> changeTaskPriority(
       @PathVariable Long taskId,
       @RequestParam String newPriority,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
       Principal principal) {
-    log.info(taskId.toString());
-    log.info(newPriority);
-    log.info(principal.toString());
     var dto = new ChangeTaskPriorityDTO(
             taskId,
             newPriority,
-            principal.getName());
-    log.info(dto.toString());
+            principal.getName(),
+            expectedVersion(ifMatch));
     var result = taskFacade
         .changeTaskPriority(dto)
         .fold(
                 taskErrorDispatcher::dispatch,
-                viewDTO -> new ResponseEntity<>(viewDTO, HttpStatus.OK));
-    log.info(result.toString());
+                TaskRestController::versionedTask);
+    EVENTS.debug("changeTaskPriority", "username", principal.getName(), "status", result.getStatusCodeValue());
     return result;
   }
 
@@ -88,21 +166,63 @@ class TaskRestController {
   ResponseEntity<?> changeTaskStatus(
       @PathVariable Long taskId,
       @RequestParam String newStatus,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
       Principal principal) {
-    log.info(taskId.toString());
-    log.trace(newStatus);
-    log.info(principal.toString());
     var dto = new ChangeTaskStatusDTO(
             taskId,
             newStatus,
-            principal.getName());
-    log.info(dto.toString());
+            principal.getName(),
+            expectedVersion(ifMatch));
     var result= taskFacade
         .changeTaskStatus(dto)
         .fold(
                 taskErrorDispatcher::dispatch,
-                viewDTO -> new ResponseEntity<>(viewDTO, HttpStatus.OK));
-    log.info(result.toString());
+                TaskRestController::versionedTask);
+    EVENTS.debug("changeTaskStatus", "username", principal.getName(), "status", result.getStatusCodeValue());
+    return result;
+  }
+
+  @PatchMapping("/tasks/status")
+  ResponseEntity<?> changeTasksStatus(
+      @RequestBody @Valid ChangeTasksStatusHttpDTO request,
+      Principal principal) {
+    var dto = new ChangeTasksStatusDTO(
+            new TasksSelectionDTO(
+                    principal.getName(),
+                    request.getIds(),
+                    request.getStatus(),
+                    request.getPriority(),
+                    request.getCreatedFrom(),
+                    request.getCreatedTo()),
+            request.getNewStatus());
+    var result = taskFacade
+        .changeTasksStatus(dto)
+        .fold(
+                taskErrorDispatcher::dispatch,
+                changedDTO -> new ResponseEntity<>(changedDTO, HttpStatus.OK));
+    EVENTS.debug("changeTasksStatus", "username", principal.getName(), "status", result.getStatusCodeValue());
+    return result;
+  }
+
+  @PatchMapping("/tasks/priority")
+  ResponseEntity<?> changeTasksPriority(
+      @RequestBody @Valid ChangeTasksPriorityHttpDTO request,
+      Principal principal) {
+    var dto = new ChangeTasksPriorityDTO(
+            new TasksSelectionDTO(
+                    principal.getName(),
+                    request.getIds(),
+                    request.getStatus(),
+                    request.getPriority(),
+                    request.getCreatedFrom(),
+                    request.getCreatedTo()),
+            request.getNewPriority());
+    var result = taskFacade
+        .changeTasksPriority(dto)
+        .fold(
+                taskErrorDispatcher::dispatch,
+                changedDTO -> new ResponseEntity<>(changedDTO, HttpStatus.OK));
+    EVENTS.debug("changeTasksPriority", "username", principal.getName(), "status", result.getStatusCodeValue());
     return result;
   }
 
@@ -110,30 +230,161 @@ class TaskRestController {
   ResponseEntity<?> removeTask(
           @PathVariable Long taskId,
           Principal principal) {
-    log.info(taskId.toString());
-    log.info(principal.toString());
     var dto = new RemoveTaskDTO(
             taskId,
             principal.getName());
-    log.info(dto.toString());
     var result = taskFacade
         .removeTask(dto)
         .fold(
                 taskErrorDispatcher::dispatch,
                 viewDTO -> new ResponseEntity<>(HttpStatus.NO_CONTENT));
-    log.info(result.toString());
+    EVENTS.debug("removeTask", "username", principal.getName(), "status", result.getStatusCodeValue());
     return result;
   }
 
   @GetMapping("/tasks")
-  ResponseEntity<?> readAllTasks(Principal principal) {
-    log.info(principal.toString());
+  ResponseEntity<?> readAllTasks(
+          @RequestParam(required = false) Long cursor,
+          @RequestParam(defaultValue = "" + DEFAULT_TASKS_PAGE_SIZE) int size,
+          Principal principal,
+          WebRequest webRequest) {
+    if (webRequest.checkNotModified(taskFacade.readTasksVersion(principal.getName()))) {
+      EVENTS.debug("readAllTasks", "username", principal.getName(), "status", HttpStatus.NOT_MODIFIED.value());
+      return null;
+    }
+    var dto = new ReadTasksPageDTO(principal.getName(), cursor, size);
+    var page = taskFacade.readTasksPage(dto);
+    var headers = new HttpHeaders();
+    if (page.nextCursor() != null) {
+      headers.set(NEXT_CURSOR_HEADER, page.nextCursor().toString());
+    }
+    var responseEntity = new ResponseEntity<>(page.tasks(), headers, HttpStatus.OK);
+    EVENTS.debug("readAllTasks", "username", principal.getName(), "status", responseEntity.getStatusCodeValue());
+    return responseEntity;
+  }
+
+  @GetMapping("/tasks/{taskId}")
+  ResponseEntity<?> readTask(
+          @PathVariable Long taskId,
+          Principal principal,
+          WebRequest webRequest) {
+    var dto = new ReadTaskByOwnerUsernameAndIdDTO(principal.getName(), taskId);
+    var task = taskFacade.readTaskByIdAndOwnerUsername(dto);
+    if (task.isDefined() && webRequest.checkNotModified(task.get().version().toString())) {
+      EVENTS.debug("readTask", "username", principal.getName(), "status", HttpStatus.NOT_MODIFIED.value());
+      return null;
+    }
+    var result = task
+        .<ResponseEntity<?>>map(viewDTO -> new ResponseEntity<>(viewDTO, HttpStatus.OK))
+        .getOrElse(() -> taskErrorDispatcher.dispatch(new TaskNotFoundError(taskId)));
+    EVENTS.debug("readTask", "username", principal.getName(), "status", result.getStatusCodeValue());
+    return result;
+  }
+
+  @GetMapping(value = "/tasks", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  ResponseEntity<StreamingResponseBody> streamAllTasks(Principal principal) {
     var dto = new ReadAllTasksDTO(principal.getName());
-    log.info(dto.toString());
-    var taskViews = taskFacade.readAllTasks(dto);
-    log.info(taskViews.toString());
+    var taskViewWriter = objectMapper.writer();
+    StreamingResponseBody responseBody = outputStream -> taskFacade.streamAllTasks(dto, taskView -> {
+      try {
+        outputStream.write(taskViewWriter.writeValueAsBytes(taskView));
+        outputStream.write('\n');
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    return ResponseEntity
+            .ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(responseBody);
+  }
+
+  @GetMapping("/tasks/export")
+  ResponseEntity<StreamingResponseBody> exportTasks(
+          @RequestParam(defaultValue = "ndjson") String format,
+          @RequestParam(required = false) String compress,
+          Principal principal) {
+    var exportFormat = TaskFileFormat.of(format);
+    var gzip = GZIP.equalsIgnoreCase(compress);
+    if (exportFormat.isEmpty() || (compress != null && !gzip)) {
+      return ResponseEntity.badRequest().build();
+    }
+    var dto = new ReadAllTasksDTO(principal.getName());
+    StreamingResponseBody responseBody = outputStream -> exportTasks(dto, exportFormat.get(), gzip, outputStream);
+    var response = ResponseEntity
+            .ok()
+            .contentType(exportFormat.get().mediaType)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"tasks." + exportFormat.get().name().toLowerCase() + "\"");
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+    }
+    return response.body(responseBody);
+  }
+
+  @GetMapping("/tasks/changes")
+  ResponseEntity<?> readTaskChanges(
+          @RequestParam(defaultValue = "0") long since,
+          @RequestParam(defaultValue = "" + DEFAULT_TASKS_PAGE_SIZE) int size,
+          Principal principal) {
+    var dto = new ReadTaskChangesDTO(principal.getName(), since, size);
+    var result = taskFacade.readTaskChanges(dto);
+    EVENTS.debug("readTaskChanges", "username", principal.getName(), "changes", result.changed().size());
+    return new ResponseEntity<>(result, HttpStatus.OK);
+  }
+
+  @GetMapping("/tasks/filter")
+  ResponseEntity<?> readFilteredTasks(
+          @RequestParam(required = false) TaskStatusDTO status,
+          @RequestParam(required = false) TaskPriorityDTO priority,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdFrom,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdTo,
+          @RequestParam(defaultValue = "ID") TaskSortFieldDTO sortBy,
+          @RequestParam(defaultValue = "ASC") SortDirectionDTO direction,
+          @RequestParam(defaultValue = "0") int page,
+          @RequestParam(defaultValue = "" + DEFAULT_TASKS_PAGE_SIZE) int size,
+          Principal principal) {
+    var dto = new ReadFilteredTasksDTO(
+            principal.getName(),
+            status,
+            priority,
+            createdFrom,
+            createdTo,
+            sortBy,
+            direction,
+            page,
+            size);
+    var taskViews = taskFacade.readFilteredTasks(dto);
     var responseEntity = new ResponseEntity<>(taskViews, HttpStatus.OK);
-    log.info(responseEntity.toString());
+    EVENTS.debug("readFilteredTasks", "username", principal.getName(), "status", responseEntity.getStatusCodeValue());
+    return responseEntity;
+  }
+
+  @GetMapping("/tasks/search")
+  ResponseEntity<?> searchTasks(
+          @RequestParam String q,
+          @RequestParam(defaultValue = "" + DEFAULT_TASKS_PAGE_SIZE) int size,
+          Principal principal) {
+    var dto = new SearchTasksDTO(principal.getName(), q, size);
+    var taskViews = taskFacade.searchTasks(dto);
+    var responseEntity = new ResponseEntity<>(taskViews, HttpStatus.OK);
+    EVENTS.debug("searchTasks", "username", principal.getName(), "status", responseEntity.getStatusCodeValue());
+    return responseEntity;
+  }
+
+  @GetMapping("/tasks/stats")
+  ResponseEntity<?> readTaskStats(Principal principal) {
+    var stats = taskFacade.readTaskStats(principal.getName());
+    var responseEntity = new ResponseEntity<>(stats, HttpStatus.OK);
+    EVENTS.debug("readTaskStats", "username", principal.getName(), "status", responseEntity.getStatusCodeValue());
+    return responseEntity;
+  }
+
+  @GetMapping("/tasks/cache/stats")
+  ResponseEntity<?> readTaskCacheStats() {
+    var stats = taskFacade.readTaskCacheStats();
+    var responseEntity = new ResponseEntity<>(stats, HttpStatus.OK);
+    EVENTS.debug("readTaskCacheStats", "status", responseEntity.getStatusCodeValue());
     return responseEntity;
   }
 
@@ -141,14 +392,108 @@ class TaskRestController {
   ResponseEntity<?> saveTasksToTextFile(
           @RequestParam String fileName,
           Principal principal) {
-    log.info(fileName);
-    log.info(principal.toString());
     var dto = new SaveTasksToTextFileDTO(fileName, principal.getName());
-    log.info(dto.toString());
-    taskFacade.saveTasksToTextFile(dto);
-    log.info("saved");
-    var responseEntity = new ResponseEntity<>(HttpStatus.OK);
-    log.info(responseEntity.toString());
-    return responseEntity;
+    var result = taskFacade
+        .saveTasksToTextFile(dto)
+        .fold(
+                taskErrorDispatcher::dispatch,
+                savedDTO -> new ResponseEntity<>(savedDTO, HttpStatus.OK));
+    EVENTS.debug("saveTasksToTextFile", "username", principal.getName(), "status", result.getStatusCodeValue());
+    return result;
+  }
+
+  @PostMapping("/tasks/exports")
+  ResponseEntity<?> submitTaskExport(Principal principal) {
+    var result = taskFacade
+        .submitTaskExport(principal.getName())
+        .fold(
+                taskErrorDispatcher::dispatch,
+                jobDTO -> new ResponseEntity<>(jobDTO, HttpStatus.ACCEPTED));
+    EVENTS.debug("submitTaskExport", "username", principal.getName(), "status", result.getStatusCodeValue());
+    return result;
+  }
+
+  @GetMapping("/tasks/exports/{exportId}")
+  ResponseEntity<?> readTaskExport(
+          @PathVariable String exportId,
+          Principal principal) {
+    var result = taskFacade
+        .readTaskExport(principal.getName(), exportId)
+        .fold(
+                taskErrorDispatcher::dispatch,
+                jobDTO -> new ResponseEntity<>(jobDTO, HttpStatus.OK));
+    EVENTS.debug("readTaskExport", "username", principal.getName(), "status", result.getStatusCodeValue());
+    return result;
+  }
+
+  @GetMapping("/tasks/exports/{exportId}/file")
+  ResponseEntity<?> downloadTaskExport(
+          @PathVariable String exportId,
+          Principal principal) {
+    var result = taskFacade
+        .readTaskExportFile(principal.getName(), exportId)
+        .<ResponseEntity<?>>fold(
+                taskErrorDispatcher::dispatch,
+                file -> ResponseEntity
+                        .ok()
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.txt\"")
+                        .body(new FileSystemResource(file)));
+    EVENTS.debug("downloadTaskExport", "username", principal.getName(), "status", result.getStatusCodeValue());
+    return result;
+  }
+
+  private void exportTasks(
+          ReadAllTasksDTO dto,
+          TaskFileFormat format,
+          boolean gzip,
+          OutputStream outputStream) throws IOException {
+    var start = System.nanoTime();
+    var exportedTasks = new long[1];
+    var countingStream = new CountingOutputStream(outputStream);
+    var compressingStream = gzip ? new GZIPOutputStream(countingStream, EXPORT_BUFFER_SIZE) : null;
+    var writer = format.writer(gzip ? compressingStream : countingStream, objectMapper);
+    taskFacade.streamAllTasks(dto, taskView -> {
+      try {
+        writer.write(taskView);
+        exportedTasks[0]++;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    writer.finish();
+    if (compressingStream != null) {
+      compressingStream.finish();
+    }
+    countingStream.flush();
+    var millis = Math.max(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), 1);
+    if (EVENTS.isInfoEnabled()) {
+      EVENTS.info("tasks.exported",
+              "username", dto.username(),
+              "format", gzip ? format + "+gzip" : format,
+              "tasks", exportedTasks[0],
+              "bytes", countingStream.count(),
+              "millis", millis,
+              "tasksPerSecond", exportedTasks[0] * 1000 / millis);
+    }
+  }
+
+  private static Long expectedVersion(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    var tag = ifMatch.trim().replaceFirst("^W/", "").replace("\"", "");
+    try {
+      return Long.valueOf(tag);
+    } catch (NumberFormatException e) {
+      return -1L;
+    }
+  }
+
+  private static ResponseEntity<?> versionedTask(TaskViewDTO viewDTO) {
+    return ResponseEntity
+            .ok()
+            .eTag(viewDTO.version().toString())
+            .body(viewDTO);
   }
 }
@@ -0,0 +1,31 @@
+package com.example.taskmanager.user.domain;
+
+import com.example.taskmanager.shared.EventLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.Executor;
+
+@RequiredArgsConstructor
+class BackgroundUserRemoval {
+
+  private static final EventLog EVENTS = EventLog.of("user.removal");
+
+  private final Executor userRemovalExecutor;
+  private final ObjectProvider<UserFacade> userFacade;
+
+  void schedule(String userName) {
+    userRemovalExecutor.execute(() -> remove(userName));
+  }
+
+  private void remove(String userName) {
+    try {
+      userFacade
+              .getObject()
+              .removeUserByUsername(userName)
+              .peekLeft(error -> EVENTS.warn("user.removal.failed", "username", userName, "error", error.getMessage()));
+    } catch (RuntimeException e) {
+      EVENTS.error("user.removal.failed", "username", userName, e);
+    }
+  }
+}
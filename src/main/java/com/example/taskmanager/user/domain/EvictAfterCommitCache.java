@@ -0,0 +1,25 @@
+package com.example.taskmanager.user.domain;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+// Evicts at once and again after commit, so a reader that re-cached the old row while the change
+// was still uncommitted can't keep serving it.
+class EvictAfterCommitCache extends TransactionAwareCacheDecorator {
+
+  EvictAfterCommitCache(Cache targetCache) {
+    super(targetCache);
+  }
+
+  @Override
+  public void evict(Object key) {
+    getTargetCache().evict(key);
+    super.evict(key);
+  }
+
+  @Override
+  public void clear() {
+    getTargetCache().clear();
+    super.clear();
+  }
+}
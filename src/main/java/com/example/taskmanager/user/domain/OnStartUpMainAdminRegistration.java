@@ -1,8 +1,8 @@
 package com.example.taskmanager.user.domain;
 
+import com.example.taskmanager.shared.EventLog;
 import com.example.taskmanager.user.domain.error.NotUniqueUserNameError;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.EventListener;
 
@@ -10,20 +10,21 @@ import static com.example.taskmanager.user.domain.UserFacade.MAIN_ADMIN_PASSWORD
 import static com.example.taskmanager.user.domain.UserFacade.MAIN_ADMIN_USERNAME;
 
 @RequiredArgsConstructor
-@Slf4j
 class OnStartUpMainAdminRegistration  {
 
+  private static final EventLog EVENTS = EventLog.of("user.startup");
+
   private final UserFactory userFactory;
 
   @EventListener(ContextRefreshedEvent.class)
   public void onApplicationEvent() {
    userFactory.create(MAIN_ADMIN_USERNAME, MAIN_ADMIN_PASSWORD, UserRole.ADMIN)
-           .peek(mainAdmin -> log.info("Main Admin added."))
+           .peek(mainAdmin -> EVENTS.info("main.admin.added", "username", mainAdmin.username()))
            .peekLeft(error -> {
               if (error instanceof NotUniqueUserNameError) {
-                log.info("Main Admin already exists");
+                EVENTS.info("main.admin.exists", "username", MAIN_ADMIN_USERNAME);
               } else {
-                log.info(error.toString());
+                EVENTS.info("main.admin.add.rejected", "error", error.getMessage());
               }
             });
   }
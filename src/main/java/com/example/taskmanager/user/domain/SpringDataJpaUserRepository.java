@@ -1,8 +1,8 @@
 package com.example.taskmanager.user.domain;
 
+import com.example.taskmanager.shared.EventLog;
 import io.vavr.control.Option;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -15,47 +15,51 @@ interface SpringDataJpaUserRepository extends JpaRepository<User, Long> {
 }
 
 @RequiredArgsConstructor
-@Slf4j
 class SpringDataJpaUserRepositoryAdapter implements UserRepository {
 
+  private static final EventLog EVENTS = EventLog.of("user.repository");
+
   private final SpringDataJpaUserRepository springDataJpaUserRepository;
 
   @Override
   public User add(User user) {
-    log.info(user.toString());
     var result = springDataJpaUserRepository.save(user);
-    log.info(result.toString());
+    EVENTS.debug("user.saved", "username", result.getUsername());
+    return result;
+  }
+
+  @Override
+  public List<User> addAll(List<User> users) {
+    var result = springDataJpaUserRepository.saveAll(users);
+    EVENTS.debug("users.saved", "users", result.size());
     return result;
   }
 
   @Override
   public Option<User> getByUsername(String username) {
-    log.info(username);
     var result = springDataJpaUserRepository.getByUsername(username);
-    log.info(result.toString());
+    EVENTS.debug("user.loaded", "username", username, "found", result.isDefined());
     return result;
   }
 
   @Override
   public List<User> getAll() {
     var result = springDataJpaUserRepository.findAll();
-    log.info(result.toString());
+    EVENTS.debug("users.loaded", "users", result.size());
     return result;
   }
 
   @Override
   public boolean existsByUsername(String username) {
-    log.info(username);
     var result = springDataJpaUserRepository.existsByUsername(username);
-    log.info(Boolean.toString(result));
+    EVENTS.debug("user.exists", "username", username, "exists", result);
     return result;
   }
 
   @Override
   public void remove(User user) {
-    log.info(user.toString());
     springDataJpaUserRepository.delete(user);
-    log.info("removed");
+    EVENTS.debug("user.deleted", "username", user.getUsername());
   }
 
   @Override
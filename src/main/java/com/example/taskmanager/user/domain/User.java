@@ -2,6 +2,9 @@ package com.example.taskmanager.user.domain;
 
 
 import com.example.taskmanager.user.domain.dto.UserAuthDTO;
+import com.example.taskmanager.user.domain.dto.UserRoleDTO;
+import com.example.taskmanager.user.domain.dto.UserSnapshotDTO;
+import com.example.taskmanager.user.domain.dto.UserStatusDTO;
 import com.example.taskmanager.user.domain.dto.UserViewDTO;
 import com.example.taskmanager.user.domain.error.UserError;
 import com.example.taskmanager.user.domain.error.WrongPasswordLengthError;
@@ -61,6 +64,16 @@ class User {
                             UserStatus.OPEN,
                             Instant.now())));
   }
+  static User restore(UserSnapshotDTO snapshot) {
+    return new User(
+            snapshot.uuid(),
+            snapshot.username(),
+            snapshot.password(),
+            UserRole.valueOf(snapshot.role().name()),
+            UserStatus.valueOf(snapshot.status().name()),
+            snapshot.creationDate());
+  }
+
   Either<UserError, User> changePassword(String password, PasswordEncoder passwordEncoder) {
     return validatePasswordFormat(password)
         .map(passwordEncoder::encode)
@@ -105,6 +118,7 @@ class User {
             .username(this.username)
             .password(this.password)
             .role(this.role.name())
+            .status(this.status.name())
             .build();
   }
 
@@ -118,6 +132,16 @@ class User {
             .build();
   }
 
+  UserSnapshotDTO toSnapshot() {
+    return new UserSnapshotDTO(
+            this.uuid,
+            this.username,
+            this.password,
+            UserRoleDTO.valueOf(this.role.name()),
+            UserStatusDTO.valueOf(this.status.name()),
+            this.creationDate);
+  }
+
   String getUsername() {
     return username;
   }
@@ -1,25 +1,79 @@
 package com.example.taskmanager.user.domain;
 
 import com.example.taskmanager.task.domain.TaskFacade;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Component
+@EnableCaching
 class UserConfig {
 
   @Bean
   UserFacade userFacade(
           UserRepository userRepository,
           PasswordEncoder passwordEncoder,
-          TaskFacade taskFacade) {
+          TaskFacade taskFacade,
+          BackgroundUserRemoval backgroundUserRemoval) {
     return new UserFacade(
             userRepository,
             passwordEncoder,
             new UserFactory(passwordEncoder, userRepository),
-            taskFacade);
+            taskFacade,
+            backgroundUserRemoval);
+  }
+
+  @Bean
+  BackgroundUserRemoval backgroundUserRemoval(
+          ExecutorService userRemovalExecutor,
+          ObjectProvider<UserFacade> userFacade) {
+    return new BackgroundUserRemoval(userRemovalExecutor, userFacade);
+  }
+
+  @Bean
+  ExecutorService userRemovalExecutor() {
+    return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+  }
+
+  @Bean
+  MeterBinder userRemovalExecutorMetrics(ExecutorService userRemovalExecutor) {
+    return new ExecutorServiceMetrics(userRemovalExecutor, "user.removal", List.of());
+  }
+
+  @Bean
+  CacheManager cacheManager(
+          @Value("${users.auth-cache.maximum-size:10000}") long maximumSize,
+          @Value("${users.auth-cache.time-to-live:5m}") Duration timeToLive) {
+    var cacheManager = new CaffeineCacheManager(UserFacade.USER_AUTH_CACHE) {
+      @Override
+      protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        return new EvictAfterCommitCache(super.adaptCaffeineCache(name, cache));
+      }
+    };
+    cacheManager.setAllowNullValues(false);
+    cacheManager.setCaffeine(Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats());
+    return cacheManager;
   }
 
   @Bean
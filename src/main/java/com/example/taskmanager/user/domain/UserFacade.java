@@ -1,80 +1,110 @@
 package com.example.taskmanager.user.domain;
 
+import com.example.taskmanager.shared.EventLog;
 import com.example.taskmanager.task.domain.TaskFacade;
 import com.example.taskmanager.user.domain.dto.*;
 import com.example.taskmanager.user.domain.error.UserError;
 import com.example.taskmanager.user.domain.error.UserNotFoundError;
+import io.micrometer.core.annotation.Timed;
 import io.vavr.control.Either;
 import io.vavr.control.Option;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
-@Slf4j
 public class UserFacade {
+
+  private static final EventLog EVENTS = EventLog.of("user.facade");
+
   private final UserRepository userRepository;
   private final PasswordEncoder passwordEncoder;
   private final UserFactory userFactory;
   private final TaskFacade taskFacade;
+  private final BackgroundUserRemoval backgroundUserRemoval;
 
   public static final int MIN_USERNAME_LENGTH = 5;
   public static final int MAX_USERNAME_LENGTH = 15;
   public static final int MIN_PASSWORD_LENGTH = 5;
   public static final String MAIN_ADMIN_USERNAME = "MainAdmin";
   public static final String MAIN_ADMIN_PASSWORD = "12345";
+  public static final String USER_AUTH_CACHE = "userAuth";
 
+  @Timed("user.facade")
   public Either<UserError, UserViewDTO> registerUser(RegisterUserDTO dto) {
-    log.info(dto.toString());
+    EVENTS.debug("user.register", "username", dto.username());
     return userFactory.create(dto.username(), dto.password(), UserRole.COMMON)
-            .peek(viewDTO -> log.info(viewDTO.toString()))
-            .peekLeft(error -> log.info(error.toString()));
+            .peek(viewDTO -> EVENTS.info("user.registered", "username", viewDTO.username()))
+            .peekLeft(error -> EVENTS.info("user.register.rejected", "error", error.getMessage()));
   }
 
+  @Timed("user.facade")
+  @CacheEvict(cacheNames = USER_AUTH_CACHE, key = "#dto.username()")
   public Either<UserError, UserViewDTO> changeUserPassword(ChangeUserPasswordDTO dto) {
-    log.info(dto.toString());
+    EVENTS.debug("user.password.change", "username", dto.username());
     return userRepository
             .getByUsername(dto.username())
             .map(user -> user.changePassword(dto.newPassword(), passwordEncoder)
                     .map(userRepository::add)
                     .map(User::toView))
             .getOrElse(Either.left(new UserNotFoundError(dto.username())))
-            .peek(viewDTO -> log.info(viewDTO.toString()))
-            .peekLeft(error -> log.info(error.toString()));
+            .peek(viewDTO -> EVENTS.info("user.password.changed", "username", viewDTO.username()))
+            .peekLeft(error -> EVENTS.info("user.password.change.rejected", "error", error.getMessage()));
   }
 
+  @Timed("user.facade")
+  @CacheEvict(cacheNames = USER_AUTH_CACHE, key = "#dto.username()")
   public Either<UserError, UserViewDTO> changeUserStatus(ChangeUserStatusDTO dto) {
-    log.info(dto.toString());
+    EVENTS.debug("user.status.change", "username", dto.username(), "status", dto.newStatus());
     return userRepository
             .getByUsername(dto.username())
             .map(user -> user.changeStatus(UserStatus.valueOf(dto.newStatus().name())))
             .map(userRepository::add)
             .map(user -> Either.<UserError, UserViewDTO>right(user.toView()))
             .getOrElse(Either.left(new UserNotFoundError(dto.username())))
-            .peek(done -> log.info(done.toString()))
-            .peekLeft(error -> log.info(error.toString()));
+            .peek(done -> EVENTS.info("user.status.changed", "username", done.username(), "status", done.status()))
+            .peekLeft(error -> EVENTS.info("user.status.change.rejected", "error", error.getMessage()));
   }
 
+  @Timed("user.facade")
+  @CacheEvict(cacheNames = USER_AUTH_CACHE, key = "#userName")
   public Either<UserError, UserViewDTO> removeUserByUsername(String userName) {
-    log.info(userName);
+    EVENTS.debug("user.remove", "username", userName);
     taskFacade.removeAllTask(userName);
     return userRepository
             .getByUsername(userName)
             .peek(userRepository::remove)
             .map(user -> Either.<UserError, UserViewDTO>right(user.toView()))
             .getOrElse(Either.left(new UserNotFoundError(userName)))
-            .peek(done -> log.info(done.toString()))
-            .peekLeft(error -> log.info(error.toString()));
+            .peek(done -> EVENTS.info("user.removed", "username", userName))
+            .peekLeft(error -> EVENTS.info("user.remove.rejected", "error", error.getMessage()));
+  }
+
+  @Timed("user.facade")
+  @CacheEvict(cacheNames = USER_AUTH_CACHE, key = "#userName")
+  public Either<UserError, UserViewDTO> removeUserByUsernameInBackground(String userName) {
+    EVENTS.debug("user.removal.schedule", "username", userName);
+    return userRepository
+            .getByUsername(userName)
+            .map(user -> userRepository.add(user.changeStatus(UserStatus.CLOSED)))
+            .peek(user -> backgroundUserRemoval.schedule(userName))
+            .map(user -> Either.<UserError, UserViewDTO>right(user.toView()))
+            .getOrElse(Either.left(new UserNotFoundError(userName)))
+            .peek(done -> EVENTS.info("user.removal.scheduled", "username", userName))
+            .peekLeft(error -> EVENTS.info("user.removal.schedule.rejected", "error", error.getMessage()));
   }
 
+  @Timed("user.facade")
   public List<UserViewDTO> readAllUsers() {
     var result = userRepository.getAll().stream()
             .map(User::toView)
             .collect(Collectors.toList());
-    log.info(result.toString());
+    EVENTS.debug("users.read", "users", result.size());
     return result;
   }
 
@@ -84,10 +114,28 @@ public class UserFacade {
             .map(User::toView);
   }
 
+  public void forEachUserSnapshot(Consumer<UserSnapshotDTO> action) {
+    userRepository.getAll().forEach(user -> action.accept(user.toSnapshot()));
+    EVENTS.debug("user.snapshots.streamed");
+  }
+
+  @CacheEvict(cacheNames = USER_AUTH_CACHE, allEntries = true)
+  public int restoreUsers(List<UserSnapshotDTO> snapshots) {
+    var result = userRepository.addAll(snapshots
+            .stream()
+            .map(User::restore)
+            .collect(Collectors.toList()));
+    EVENTS.info("users.restored", "users", result.size());
+    return result.size();
+  }
+
+  @CacheEvict(cacheNames = USER_AUTH_CACHE, allEntries = true)
   public void removeAllUsers() {
     userRepository.removeAll();
   }
 
+  @Timed("user.facade")
+  @Cacheable(cacheNames = USER_AUTH_CACHE, unless = "#result.isEmpty()")
   public Option<UserAuthDTO> getUserAuthDTO(String username) {
     return userRepository
             .getByUsername(username)
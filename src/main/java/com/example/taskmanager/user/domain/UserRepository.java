@@ -8,6 +8,8 @@ interface UserRepository {
 
   User add(User user);
 
+  List<User> addAll(List<User> users);
+
   Option<User> getByUsername(String username);
 
   boolean existsByUsername(String userName);
@@ -0,0 +1,6 @@
+package com.example.taskmanager.user.domain.dto;
+
+public enum UserRoleDTO {
+    COMMON,
+    ADMIN
+}
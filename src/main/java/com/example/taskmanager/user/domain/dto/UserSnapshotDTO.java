@@ -0,0 +1,12 @@
+package com.example.taskmanager.user.domain.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record UserSnapshotDTO(
+        UUID uuid,
+        String username,
+        String password,
+        UserRoleDTO role,
+        UserStatusDTO status,
+        Instant creationDate) {}
@@ -0,0 +1,37 @@
+package com.example.taskmanager.user.infrastructure.auth;
+
+import com.example.taskmanager.user.domain.UserFacade;
+import com.example.taskmanager.user.domain.dto.UserStatusDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@RequiredArgsConstructor
+class ActiveUserSessionFilter extends OncePerRequestFilter {
+
+    private final UserFacade userFacade;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.getPrincipal() instanceof LoggedInUser
+                && !isActive(authentication.getName())) {
+            SecurityContextHolder.clearContext();
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean isActive(String username) {
+        return userFacade
+                .getUserAuthDTO(username)
+                .exists(user -> UserStatusDTO.OPEN.name().equals(user.status()));
+    }
+}
@@ -1,9 +1,8 @@
 package com.example.taskmanager.user.infrastructure.auth;
 
 import com.example.taskmanager.user.domain.UserFacade;
+import com.example.taskmanager.user.domain.dto.UserStatusDTO;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -16,16 +15,14 @@ class CustomUserDetailsService implements UserDetailsService {
   private final UserFacade userFacade;
 
   @Override
-  @Cacheable(cacheNames = "user auth cache")
   public UserDetails loadUserByUsername(String userName) throws UsernameNotFoundException {
-
     return userFacade
         .getUserAuthDTO(userName)
-        .map(userAuthDTO -> User.builder()
-                    .username(userAuthDTO.username())
-                    .password(userAuthDTO.password())
-                    .authorities(userAuthDTO.role())
-                    .build())
+        .map(userAuthDTO -> new LoggedInUser(
+                userAuthDTO.username(),
+                userAuthDTO.password(),
+                userAuthDTO.role(),
+                UserStatusDTO.OPEN.name().equals(userAuthDTO.status())))
         .getOrElseThrow(() -> new UsernameNotFoundException(userName));
   }
 }
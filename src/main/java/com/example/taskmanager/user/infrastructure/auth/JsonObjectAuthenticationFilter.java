@@ -1,5 +1,6 @@
 package com.example.taskmanager.user.infrastructure.auth;
 
+import com.example.taskmanager.shared.trace.LayerEvent;
 import com.example.taskmanager.user.infrastructure.rest.LoginDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +21,7 @@ class JsonObjectAuthenticationFilter extends UsernamePasswordAuthenticationFilte
     @Override
     public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response)
             throws AuthenticationException {
+        var event = LayerEvent.start("authentication", "login");
         try {
             var reader = request.getReader();
             var sb = new StringBuilder();
@@ -35,6 +37,8 @@ class JsonObjectAuthenticationFilter extends UsernamePasswordAuthenticationFilte
             return this.getAuthenticationManager().authenticate(token);
         } catch (IOException e) {
             throw new IllegalArgumentException(e.getMessage());
+        } finally {
+            event.finish();
         }
     }
 }
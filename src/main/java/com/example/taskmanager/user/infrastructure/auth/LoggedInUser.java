@@ -0,0 +1,11 @@
+package com.example.taskmanager.user.infrastructure.auth;
+
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+
+class LoggedInUser extends User {
+
+  LoggedInUser(String username, String password, String role, boolean enabled) {
+    super(username, password, enabled, true, true, true, AuthorityUtils.createAuthorityList(role));
+  }
+}
@@ -1,5 +1,6 @@
 package com.example.taskmanager.user.infrastructure.auth;
 
+import com.example.taskmanager.user.domain.UserFacade;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Configuration;
@@ -9,6 +10,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.logout.HttpStatusReturningLogoutSuccessHandler;
+import org.springframework.security.web.context.SecurityContextPersistenceFilter;
 
 @Configuration
 @AllArgsConstructor
@@ -16,6 +18,7 @@ class SecurityConfig extends WebSecurityConfigurerAdapter {
 
   private final RestAuthenticationSuccessHandler authenticationSuccessHandler;
   private final RestAuthenticationFailureHandler authenticationFailureHandler;
+  private final UserFacade userFacade;
 
   @Override
   protected void configure(HttpSecurity http) throws Exception {
@@ -25,10 +28,17 @@ class SecurityConfig extends WebSecurityConfigurerAdapter {
             .mvcMatchers("/swagger-ui/**").permitAll()
             .mvcMatchers(HttpMethod.GET, "/users").hasAnyAuthority("ADMIN")
             .mvcMatchers(HttpMethod.PATCH, "/users/{username}/status").hasAnyAuthority("ADMIN")
+            .mvcMatchers(HttpMethod.GET, "/tasks/cache/stats").hasAnyAuthority("ADMIN")
+            .mvcMatchers("/snapshots/**").hasAnyAuthority("ADMIN")
+            .mvcMatchers("/logging/**").hasAnyAuthority("ADMIN")
+            .mvcMatchers("/sql/**").hasAnyAuthority("ADMIN")
+            .mvcMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+            .mvcMatchers("/actuator/**").hasAnyAuthority("ADMIN")
             .antMatchers("/h2/console/**").permitAll()
             .anyRequest().authenticated()
             .and()
             .addFilter(jsonObjectAuthenticationFilter())
+            .addFilterAfter(new ActiveUserSessionFilter(userFacade), SecurityContextPersistenceFilter.class)
             .exceptionHandling()
             .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
             .and()
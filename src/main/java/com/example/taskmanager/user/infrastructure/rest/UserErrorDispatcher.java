@@ -0,0 +1,22 @@
+package com.example.taskmanager.user.infrastructure.rest;
+
+import com.example.taskmanager.user.domain.error.UserError;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+class UserErrorDispatcher {
+
+  private final MeterRegistry meterRegistry;
+
+  ResponseEntity<?> dispatch(UserError error, HttpStatus status) {
+    meterRegistry
+            .counter("user.errors", "error", error.getClass().getSimpleName(), "status", String.valueOf(status.value()))
+            .increment();
+    return new ResponseEntity<>(error, status);
+  }
+}
@@ -1,12 +1,12 @@
 package com.example.taskmanager.user.infrastructure.rest;
 
+import com.example.taskmanager.shared.EventLog;
 import com.example.taskmanager.user.domain.UserFacade;
 import com.example.taskmanager.user.domain.dto.ChangeUserPasswordDTO;
 import com.example.taskmanager.user.domain.dto.ChangeUserStatusDTO;
 import com.example.taskmanager.user.domain.dto.RegisterUserDTO;
 import com.example.taskmanager.user.domain.dto.UserStatusDTO;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,9 +16,12 @@ import java.security.Principal;
 
 @RestController
 @RequiredArgsConstructor
-@Slf4j
 class UserRestController {
+
+  private static final EventLog EVENTS = EventLog.of("user.rest");
+
   private final UserFacade userFacade;
+  private final UserErrorDispatcher userErrorDispatcher;
 
   @PostMapping("/login")
   void login(@RequestBody LoginDTO dto) {
@@ -30,39 +33,44 @@ class UserRestController {
 
   @PostMapping("/registration")
   ResponseEntity<?> registerUser(@RequestBody @Valid RegisterUserDTO dto) {
-    log.info(dto.toString());
     var result = userFacade
         .registerUser(dto)
         .fold(
-                error -> new ResponseEntity<>(error, HttpStatus.BAD_REQUEST),
+                error -> userErrorDispatcher.dispatch(error, HttpStatus.BAD_REQUEST),
                 viewDTO -> new ResponseEntity<>(viewDTO, HttpStatus.CREATED));
-    log.info(result.toString());
+    EVENTS.debug("registerUser", "username", dto.username(), "status", result.getStatusCodeValue());
     return result;
   }
 
   @PatchMapping("/user/password")
   ResponseEntity<?> changeUserPassword(@RequestBody @Valid ChangePasswordHttpDTO httpDTO, Principal principal) {
-    log.info(httpDTO.toString());
-    log.info(principal.toString());
     var dto = new ChangeUserPasswordDTO(principal.getName(), httpDTO.getNewPassword());
-    log.info(dto.toString());
     var result = userFacade
         .changeUserPassword(dto)
         .fold(
-                error -> new ResponseEntity<>(error, HttpStatus.BAD_REQUEST),
+                error -> userErrorDispatcher.dispatch(error, HttpStatus.BAD_REQUEST),
                 viewDTO -> new ResponseEntity<>(viewDTO, HttpStatus.OK));
-    log.info(result.toString());
+    EVENTS.debug("changeUserPassword", "username", principal.getName(), "status", result.getStatusCodeValue());
     return result;
   }
 
   @DeleteMapping("/user")
-  ResponseEntity<?> removeUser(Principal principal) {
-    log.info(principal.toString());
+  ResponseEntity<?> removeUser(
+          @RequestParam(defaultValue = "false") boolean async,
+          Principal principal) {
+    if (async) {
+      var result = userFacade.removeUserByUsernameInBackground(principal.getName())
+              .fold(
+                      error -> userErrorDispatcher.dispatch(error, HttpStatus.INTERNAL_SERVER_ERROR),
+                      viewDTO -> new ResponseEntity<>(viewDTO, HttpStatus.ACCEPTED));
+      EVENTS.debug("removeUser", "username", principal.getName(), "status", result.getStatusCodeValue());
+      return result;
+    }
     var result = userFacade.removeUserByUsername(principal.getName())
             .fold(
-                    error -> new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR),
+                    error -> userErrorDispatcher.dispatch(error, HttpStatus.INTERNAL_SERVER_ERROR),
                     viewDTO -> new ResponseEntity<>(viewDTO, HttpStatus.NO_CONTENT));
-    log.info(result.toString());
+    EVENTS.debug("removeUser", "username", principal.getName(), "status", result.getStatusCodeValue());
     return result;
   }
 
@@ -70,7 +78,7 @@ class UserRestController {
   ResponseEntity<?> readAllUsers() {
     var users = userFacade.readAllUsers();
     var result = new ResponseEntity<>(users, HttpStatus.OK);
-    log.info(result.toString());
+    EVENTS.debug("readAllUsers", "status", result.getStatusCodeValue());
     return result;
   }
 
@@ -78,16 +86,13 @@ class UserRestController {
   ResponseEntity<?> changeUserStatus(
           @PathVariable String username,
           @RequestParam UserStatusDTO newStatus) {
-    log.info(username);
-    log.info(newStatus.toString());
     var dto = new ChangeUserStatusDTO(username, newStatus);
-    log.info(dto.toString());
     var result= userFacade
             .changeUserStatus(dto)
             .fold(
-                    error -> new ResponseEntity<>(error, HttpStatus.NOT_FOUND),
+                    error -> userErrorDispatcher.dispatch(error, HttpStatus.NOT_FOUND),
                     viewDTO -> new ResponseEntity<>(viewDTO, HttpStatus.OK));
-    log.info(result.toString());
+    EVENTS.debug("changeUserStatus", "username", username, "status", result.getStatusCodeValue());
     return result;
   }
 }
@@ -7,13 +7,38 @@ create table if not exists users(
     status enum('OPEN', 'CLOSED', 'BANNED')
 );
 
+create sequence if not exists tasks_id_seq start with 1 increment by 50;
+
+create sequence if not exists tasks_change_seq start with 1;
+
 create table if not exists tasks(
     uuid UUID unique,
-    id bigint not null primary key auto_increment,
+    id bigint not null primary key,
     content varchar,
     priority enum('LOW', 'MEDIUM', 'HIGH'),
     creation_date timestamp,
     status enum('UNDONE', 'DONE'),
     owner_username varchar,
+    version bigint not null default 0,
+    change_seq bigint default next value for tasks_change_seq on update next value for tasks_change_seq,
     foreign key (owner_username) references users(username)
-)
\ No newline at end of file
+);
+
+alter table tasks add column if not exists version bigint not null default 0;
+alter table tasks add column if not exists change_seq bigint
+    default next value for tasks_change_seq on update next value for tasks_change_seq;
+
+create table if not exists task_tombstones(
+    id bigint not null primary key,
+    owner_username varchar not null,
+    change_seq bigint not null
+);
+
+create index if not exists tasks_owner_username_id_idx on tasks(owner_username, id);
+create index if not exists tasks_owner_username_status_priority_creation_date_idx
+    on tasks(owner_username, status, priority, creation_date);
+create index if not exists tasks_owner_username_priority_creation_date_idx
+    on tasks(owner_username, priority, creation_date);
+create index if not exists tasks_owner_username_creation_date_idx on tasks(owner_username, creation_date);
+create index if not exists tasks_owner_username_change_seq_idx on tasks(owner_username, change_seq);
+create index if not exists task_tombstones_owner_username_change_seq_idx on task_tombstones(owner_username, change_seq);
@@ -0,0 +1,37 @@
+package com.example.taskmanager.shared;
+
+import com.example.taskmanager.user.domain.UserFacade;
+import com.example.taskmanager.user.domain.dto.ChangeUserPasswordDTO;
+import com.example.taskmanager.user.domain.dto.RegisterUserDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"sql.slow-query-threshold=0ms", "logging.level.events.sql=WARN"})
+@ExtendWith(OutputCaptureExtension.class)
+class SqlSlowQueryLogE2eTests {
+  @Autowired private UserFacade userFacade;
+
+  @AfterEach
+  void clearDb() {
+    userFacade.removeAllUsers();
+  }
+
+  @Test
+  void log_slow_queries_without_password_hashes(CapturedOutput output) {
+    // given
+    userFacade.registerUser(new RegisterUserDTO("user1", "12345"));
+    // when
+    userFacade.changeUserPassword(new ChangeUserPasswordDTO("user1", "54321"));
+    // then
+    assertThat(output).contains("event=sql.slow");
+    assertThat(output).contains("60 chars");
+    assertThat(output).doesNotContain("$2a$");
+  }
+}
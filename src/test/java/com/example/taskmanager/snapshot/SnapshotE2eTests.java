@@ -0,0 +1,157 @@
+package com.example.taskmanager.snapshot;
+
+import com.example.taskmanager.task.domain.TaskFacade;
+import com.example.taskmanager.task.domain.dto.CreateTaskDTO;
+import com.example.taskmanager.task.domain.dto.ReadAllTasksDTO;
+import com.example.taskmanager.task.domain.dto.TaskPriorityDTO;
+import com.example.taskmanager.task.domain.dto.TaskSnapshotDTO;
+import com.example.taskmanager.task.domain.dto.TaskStatusDTO;
+import com.example.taskmanager.task.domain.dto.TaskViewDTO;
+import com.example.taskmanager.user.domain.UserFacade;
+import com.example.taskmanager.user.domain.dto.RegisterUserDTO;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SnapshotE2eTests {
+  @Autowired private MockMvc mockMvc;
+  @Autowired private UserFacade userFacade;
+  @Autowired private TaskFacade taskFacade;
+  @Value("${snapshots.directory:snapshots}") private Path snapshotsDirectory;
+
+  private final List<String> snapshotNames = new ArrayList<>();
+
+  @AfterEach
+  void clearDb() throws Exception {
+    taskFacade.removeAllTask("user1");
+    taskFacade.removeAllTask("user2");
+    userFacade.removeAllUsers();
+    for (var snapshotName : snapshotNames) {
+      Files.deleteIfExists(snapshotsDirectory.resolve(snapshotName));
+    }
+  }
+
+  @Test
+  @WithMockUser(username = "admin", authorities = "ADMIN")
+  void save_snapshot_and_restore_users_and_tasks_with_their_ids() throws Exception {
+    // given
+    userFacade.registerUser(new RegisterUserDTO("user1", "12345"));
+    addSampleTask("content1", TaskPriorityDTO.HIGH, TaskStatusDTO.DONE);
+    addSampleTask("content \"2\", caf\u00e9", TaskPriorityDTO.LOW, TaskStatusDTO.UNDONE);
+    var tasks = taskFacade.readAllTasks(new ReadAllTasksDTO("user1"));
+    var snapshotResponse = mockMvc
+            .perform(post("/snapshots"))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    String snapshotName = JsonPath.read(snapshotResponse, "$.name");
+    snapshotNames.add(snapshotName);
+    userFacade.removeUserByUsername("user1");
+    // when
+    var resultActions = mockMvc.perform(post("/snapshots/" + snapshotName + "/restore"));
+    // then
+    resultActions.andExpect(status().isOk());
+    assertThat(userFacade.readUserByUsername("user1").isDefined()).isTrue();
+    assertThat(taskFacade.readAllTasks(new ReadAllTasksDTO("user1"))).isEqualTo(tasks);
+    var newTask = addSampleTask("content3", TaskPriorityDTO.LOW, TaskStatusDTO.UNDONE);
+    assertThat(newTask.id()).isGreaterThan(tasks.get(tasks.size() - 1).id());
+  }
+
+  @Test
+  @WithMockUser(username = "admin", authorities = "ADMIN")
+  void reject_truncated_snapshot_with_422() throws Exception {
+    // given
+    userFacade.registerUser(new RegisterUserDTO("user1", "12345"));
+    addSampleTask("content1", TaskPriorityDTO.HIGH, TaskStatusDTO.DONE);
+    var snapshotResponse = mockMvc
+            .perform(post("/snapshots"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    String snapshotName = JsonPath.read(snapshotResponse, "$.name");
+    snapshotNames.add(snapshotName);
+    var snapshot = snapshotsDirectory.resolve(snapshotName);
+    var bytes = Files.readAllBytes(snapshot);
+    Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 10));
+    // when
+    var resultActions = mockMvc.perform(post("/snapshots/" + snapshotName + "/restore"));
+    // then
+    resultActions
+            .andExpect(status().isUnprocessableEntity())
+            .andExpect(jsonPath("$.message").exists());
+  }
+
+  @Test
+  @WithMockUser(username = "admin", authorities = "ADMIN")
+  void reject_snapshot_colliding_with_task_of_another_owner_with_409_and_keep_data_unchanged() throws Exception {
+    // given
+    userFacade.registerUser(new RegisterUserDTO("user1", "12345"));
+    var task = addSampleTask("content1", TaskPriorityDTO.HIGH, TaskStatusDTO.DONE);
+    var snapshotResponse = mockMvc
+            .perform(post("/snapshots"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    String snapshotName = JsonPath.read(snapshotResponse, "$.name");
+    snapshotNames.add(snapshotName);
+    userFacade.removeUserByUsername("user1");
+    userFacade.registerUser(new RegisterUserDTO("user2", "12345"));
+    taskFacade.restoreTasks(List.of(new TaskSnapshotDTO(
+            UUID.randomUUID(),
+            task.id(),
+            "content2",
+            TaskPriorityDTO.LOW,
+            TaskStatusDTO.UNDONE,
+            Instant.now(),
+            "user2",
+            0L)));
+    // when
+    var resultActions = mockMvc.perform(post("/snapshots/" + snapshotName + "/restore"));
+    // then
+    resultActions
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").exists());
+    assertThat(userFacade.readUserByUsername("user1").isDefined()).isFalse();
+    assertThat(taskFacade.readAllTasks(new ReadAllTasksDTO("user2")))
+            .extracting(TaskViewDTO::content)
+            .containsExactly("content2");
+  }
+
+  @Test
+  @WithMockUser(username = "admin", authorities = "ADMIN")
+  void return_404_when_snapshot_does_not_exist() throws Exception {
+    // when
+    var resultActions = mockMvc.perform(post("/snapshots/missing.tmsnap/restore"));
+    // then
+    resultActions.andExpect(status().isNotFound());
+  }
+
+  private TaskViewDTO addSampleTask(
+          String content,
+          TaskPriorityDTO priority,
+          TaskStatusDTO status) {
+    return taskFacade.createTask(new CreateTaskDTO(content, priority, status, "user1")).get();
+  }
+}
@@ -1,39 +1,81 @@
 package com.example.taskmanager.task;
 
+import com.example.taskmanager.shared.EventLog;
+import com.example.taskmanager.shared.trace.LayerBreakdown;
+import com.example.taskmanager.shared.trace.LayerEvent;
+import com.example.taskmanager.shared.trace.LayerStatsDTO;
 import com.example.taskmanager.task.domain.TaskFacade;
 import com.example.taskmanager.task.domain.dto.*;
 import com.example.taskmanager.task.domain.error.TaskNotFoundError;
+import com.example.taskmanager.task.domain.error.TaskVersionMismatchError;
 import com.example.taskmanager.task.domain.error.WrongTaskContentLengthError;
 import com.example.taskmanager.task.infrastructure.rest.ChangeTaskContentHttpDTO;
+import com.example.taskmanager.task.infrastructure.rest.ChangeTasksStatusHttpDTO;
 import com.example.taskmanager.task.infrastructure.rest.CreateTaskHttpDTO;
+import com.example.taskmanager.task.infrastructure.rest.CreateTasksHttpDTO;
 import com.example.taskmanager.user.domain.UserFacade;
 import com.example.taskmanager.user.domain.dto.RegisterUserDTO;
+import com.jayway.jsonpath.JsonPath;
+import com.sun.management.ThreadMXBean;
 import io.vavr.control.Option;
+import jdk.jfr.Recording;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
 import static com.example.taskmanager.TestUtils.toJson;
+import static com.example.taskmanager.shared.sql.SqlStatistics.STATEMENTS_ATTRIBUTE;
 import static com.example.taskmanager.task.domain.TaskFacade.MAX_TASK_CONTENT_LENGTH;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureMetrics
 class TaskE2eTests {
   @Autowired private MockMvc mockMvc;
   @Autowired private UserFacade userFacade;
   @Autowired private TaskFacade taskFacade;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private LoggingSystem loggingSystem;
+  @Autowired private EntityManager entityManager;
 
   @AfterEach
   void clearDb() {
@@ -81,6 +123,165 @@ class TaskE2eTests {
             .andExpect(status().isBadRequest());
   }
 
+  @Test
+  @WithMockUser(username = "user1")
+  @Transactional
+  void replay_task_creation_with_same_idempotency_key_and_return_201() throws Exception {
+    // given
+    addSampleUser();
+    var idempotencyKey = UUID.randomUUID().toString();
+    var requestBodyAsJson = toJson(new CreateTaskHttpDTO("content", TaskPriorityDTO.LOW, TaskStatusDTO.UNDONE));
+    var otherRequestBodyAsJson = toJson(new CreateTaskHttpDTO("other", TaskPriorityDTO.LOW, TaskStatusDTO.UNDONE));
+    // when
+    var firstResponse = mockMvc.perform(post("/tasks")
+            .header("Idempotency-Key", idempotencyKey)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(requestBodyAsJson));
+    var retriedResponse = mockMvc.perform(post("/tasks")
+            .header("Idempotency-Key", idempotencyKey)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(requestBodyAsJson));
+    var reusedKeyResponse = mockMvc.perform(post("/tasks")
+            .header("Idempotency-Key", idempotencyKey)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(otherRequestBodyAsJson));
+    // then
+    var tasksSize = taskFacade.readAllTasks(new ReadAllTasksDTO("user1")).size();
+    assertThat(tasksSize).isEqualTo(1);
+    firstResponse.andExpect(status().isCreated());
+    retriedResponse
+            .andExpect(status().isCreated())
+            .andExpect(content().string(firstResponse.andReturn().getResponse().getContentAsString()));
+    reusedKeyResponse.andExpect(status().isUnprocessableEntity());
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  @Transactional
+  void add_tasks_in_batch_and_return_result_for_every_task() throws Exception {
+    // given
+    addSampleUser();
+    var requestBody = new CreateTasksHttpDTO(List.of(
+            new CreateTaskHttpDTO("content1", TaskPriorityDTO.LOW, TaskStatusDTO.UNDONE),
+            new CreateTaskHttpDTO(generateTooLongTaskContent(), TaskPriorityDTO.LOW, TaskStatusDTO.UNDONE),
+            new CreateTaskHttpDTO("content3", TaskPriorityDTO.HIGH, TaskStatusDTO.DONE)));
+    var requestBodyAsJson = toJson(requestBody);
+    // when
+    var resultActions = mockMvc.perform(post("/tasks/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(requestBodyAsJson));
+    // then
+    var tasks = taskFacade.readAllTasks(new ReadAllTasksDTO("user1"));
+    assertThat(tasks).extracting(TaskViewDTO::content).containsExactly("content1", "content3");
+    resultActions
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[0].task.content").value("content1"))
+            .andExpect(jsonPath("$[1].error.message").exists())
+            .andExpect(jsonPath("$[2].task.content").value("content3"));
+  }
+
+  @Test
+  @Transactional
+  void keep_entities_of_caller_managed_when_adding_tasks_in_batch() {
+    // given
+    addSampleUser();
+    addSampleTask("first");
+    List<?> loaded = entityManager.createQuery("select t from Task t").getResultList();
+    // when
+    taskFacade.createTasks(List.of(new CreateTaskDTO("second", TaskPriorityDTO.LOW, TaskStatusDTO.UNDONE, "user1")));
+    // then
+    assertThat(loaded).isNotEmpty().allMatch(entityManager::contains);
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void import_tasks_from_csv_and_report_rejected_lines() throws Exception {
+    // given
+    addSampleUser();
+    var csv = "content,priority,status\n"
+            + "content1,LOW,UNDONE\n"
+            + "\"multi\nline, \"\"quoted\"\"\",high,done\n"
+            + "content3,URGENT,UNDONE\n"
+            + generateTooLongTaskContent() + ",LOW,UNDONE\n"
+            + "content5,MEDIUM\n";
+    // when
+    var resultActions = mockMvc.perform(post("/tasks/import")
+            .param("format", "csv")
+            .contentType("text/csv")
+            .content(csv));
+    // then
+    var tasks = taskFacade.readAllTasks(new ReadAllTasksDTO("user1"));
+    assertThat(tasks)
+            .extracting(TaskViewDTO::content)
+            .containsExactly("content1", "multi\nline, \"quoted\"");
+    resultActions
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.records").value(5))
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.rejected").value(3))
+            .andExpect(jsonPath("$.errors[0].line").value(5))
+            .andExpect(jsonPath("$.errors[1].line").value(6))
+            .andExpect(jsonPath("$.errors[2].line").value(7));
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void import_tasks_from_ndjson_and_report_malformed_lines() throws Exception {
+    // given
+    addSampleUser();
+    var ndjson = "{\"content\":\"content1\",\"priority\":\"LOW\",\"status\":\"UNDONE\"}\n"
+            + "{\"content\":\n"
+            + "\n"
+            + "{\"content\":\"content2\",\"priority\":\"HIGH\",\"status\":\"DONE\",\"id\":7}\n";
+    // when
+    var resultActions = mockMvc.perform(post("/tasks/import")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content(ndjson));
+    // then
+    var tasks = taskFacade.readAllTasks(new ReadAllTasksDTO("user1"));
+    assertThat(tasks).extracting(TaskViewDTO::content).containsExactly("content1", "content2");
+    resultActions
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.errors[0].line").value(2));
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void reject_over_long_import_lines_and_continue_with_next_ones() throws Exception {
+    // given
+    addSampleUser();
+    var tooLongContent = "x".repeat(100 * 1024);
+    var csv = "content,priority,status\n"
+            + tooLongContent + ",LOW,UNDONE\n"
+            + "content1,LOW,UNDONE\n";
+    var ndjson = "{\"content\":\"" + tooLongContent + "\",\"priority\":\"LOW\",\"status\":\"UNDONE\"}\n"
+            + "{\"content\":\"content2\",\"priority\":\"HIGH\",\"status\":\"DONE\"}\n";
+    // when
+    var csvResultActions = mockMvc.perform(post("/tasks/import")
+            .param("format", "csv")
+            .contentType("text/csv")
+            .content(csv));
+    var ndjsonResultActions = mockMvc.perform(post("/tasks/import")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content(ndjson));
+    // then
+    var tasks = taskFacade.readAllTasks(new ReadAllTasksDTO("user1"));
+    assertThat(tasks).extracting(TaskViewDTO::content).containsExactly("content1", "content2");
+    csvResultActions
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.errors[0].line").value(2));
+    ndjsonResultActions
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.errors[0].line").value(1));
+  }
+
   @Test
   @WithMockUser(username = "user1")
   @Transactional
@@ -155,6 +356,121 @@ class TaskE2eTests {
     resultActions.andExpect(status().isOk());
   }
 
+  @Test
+  @WithMockUser(username = "user1")
+  @Transactional
+  void return_412_when_etag_from_if_match_is_stale() throws Exception {
+    // given
+    addSampleUser();
+    var sampleTask = addSampleTask();
+    var readETag = mockMvc
+            .perform(get("/tasks/" + sampleTask.id()))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    var tasksETag = mockMvc
+            .perform(get("/tasks"))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    // when
+    var firstChange = mockMvc.perform(patch("/tasks/" + sampleTask.id() + "/priority?newPriority=HIGH")
+            .header(HttpHeaders.IF_MATCH, readETag));
+    var changeETag = firstChange
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    var staleReadChange = mockMvc.perform(patch("/tasks/" + sampleTask.id() + "/priority?newPriority=MEDIUM")
+            .header(HttpHeaders.IF_MATCH, readETag));
+    var secondChange = mockMvc.perform(patch("/tasks/" + sampleTask.id() + "/status?newStatus=DONE")
+            .header(HttpHeaders.IF_MATCH, changeETag));
+    var tasksETagChange = mockMvc.perform(patch("/tasks/" + sampleTask.id() + "/priority?newPriority=LOW")
+            .header(HttpHeaders.IF_MATCH, tasksETag));
+    // then
+    assertThat(readETag).isEqualTo("\"" + sampleTask.version() + "\"");
+    firstChange
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (sampleTask.version() + 1) + "\""))
+            .andExpect(jsonPath("$.version").value(sampleTask.version() + 1));
+    staleReadChange.andExpect(status().isPreconditionFailed());
+    secondChange
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (sampleTask.version() + 2) + "\""));
+    tasksETagChange.andExpect(status().isPreconditionFailed());
+    var task = readSampleTask(sampleTask.id()).get();
+    assertThat(task.priority()).isEqualTo("HIGH");
+    assertThat(task.status()).isEqualTo("DONE");
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void apply_concurrent_conditional_changes_without_lost_updates() throws Exception {
+    // given
+    addSampleUser();
+    var sampleTask = addSampleTask("");
+    var threads = 8;
+    var changesPerThread = 10;
+    var executor = Executors.newFixedThreadPool(threads);
+    // when
+    var futures = IntStream
+            .range(0, threads)
+            .mapToObj(thread -> executor.submit(() -> {
+              for (var change = 0; change < changesPerThread; change++) {
+                appendToSampleTaskContent(sampleTask.id(), "x");
+              }
+            }))
+            .collect(Collectors.toList());
+    for (var future : futures) {
+      future.get(1, TimeUnit.MINUTES);
+    }
+    executor.shutdown();
+    // then
+    var changedTask = readSampleTask(sampleTask.id()).get();
+    assertThat(changedTask.content()).hasSize(threads * changesPerThread);
+    assertThat(changedTask.version()).isEqualTo(sampleTask.version() + threads * changesPerThread);
+  }
+
+  @Test
+  @WithMockUser(username = "user2")
+  @Transactional
+  void return_404_when_changing_task_of_another_user() throws Exception {
+    // given
+    addSampleUser();
+    var sampleTask = addSampleTask();
+    // when
+    var resultActions = mockMvc
+            .perform(patch("/tasks/" + sampleTask.id() + "/status" + "?newStatus=" + TaskStatusDTO.DONE));
+    // then
+    var taskStatus = readSampleTask(sampleTask.id()).get().status();
+    assertThat(taskStatus).isEqualTo(TaskStatusDTO.UNDONE.name());
+    resultActions.andExpect(status().isNotFound());
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  @Transactional
+  void change_status_of_many_tasks_and_return_200() throws Exception {
+    // given
+    addSampleUser();
+    var firstTask = addSampleTask();
+    var secondTask = addSampleTask();
+    var otherTask = addSampleTask();
+    var requestBody = new ChangeTasksStatusHttpDTO(
+            List.of(firstTask.id(), secondTask.id()), null, null, null, null, TaskStatusDTO.DONE);
+    var requestBodyAsJson = toJson(requestBody);
+    // when
+    var resultActions = mockMvc.perform(patch("/tasks/status")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(requestBodyAsJson));
+    // then
+    resultActions
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.count").value(2));
+    assertThat(readSampleTask(firstTask.id()).get().status()).isEqualTo("DONE");
+    assertThat(readSampleTask(secondTask.id()).get().status()).isEqualTo("DONE");
+    assertThat(readSampleTask(otherTask.id()).get().status()).isEqualTo("UNDONE");
+  }
+
   @Test
   @WithMockUser(username = "user1")
   void remove_task_and_return_204() throws Exception {
@@ -207,16 +523,526 @@ class TaskE2eTests {
             .andExpect(status().isOk());
   }
 
+  @Test
+  @WithMockUser(username = "MainAdmin", authorities = "ADMIN")
+  void publish_facade_timers_and_error_counters_to_prometheus_and_return_200() throws Exception {
+    // given
+    addSampleUser();
+    addSampleTask();
+    mockMvc.perform(get("/tasks/" + Long.MAX_VALUE)).andExpect(status().isNotFound());
+    // when
+    var resultActions = mockMvc.perform(get("/actuator/prometheus"));
+    // then
+    resultActions
+            .andExpect(content().string(containsString("task_facade_seconds_bucket")))
+            .andExpect(content().string(containsString("method=\"createTask\"")))
+            .andExpect(content().string(containsString("task_errors_total{error=\"TaskNotFoundError\",status=\"404\"")))
+            .andExpect(status().isOk());
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void return_403_when_non_admin_scrapes_prometheus() throws Exception {
+    // when
+    var resultActions = mockMvc.perform(get("/actuator/prometheus"));
+    // then
+    resultActions.andExpect(status().isForbidden());
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void allocate_no_log_arguments_when_event_level_is_disabled() throws Exception {
+    // given
+    addSampleUser();
+    addSampleTask();
+    loggingSystem.setLogLevel(EventLog.CATEGORY_PREFIX + "allocation", LogLevel.INFO);
+    var events = EventLog.of("allocation");
+    var threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    var threadId = Thread.currentThread().getId();
+    for (var request = 0; request < 200; request++) {
+      mockMvc.perform(get("/tasks")).andExpect(status().isOk());
+      logDebugEventsWithPrimitiveValues(events, request);
+    }
+    // when
+    var beforeLevelChecks = threads.getThreadAllocatedBytes(threadId);
+    checkDebugLevel(events, 10_000);
+    var levelCheckBytes = threads.getThreadAllocatedBytes(threadId) - beforeLevelChecks;
+    var beforeEvents = threads.getThreadAllocatedBytes(threadId);
+    logDebugEventsWithPrimitiveValues(events, 10_000);
+    var eventBytes = threads.getThreadAllocatedBytes(threadId) - beforeEvents;
+    var beforeRequests = threads.getThreadAllocatedBytes(threadId);
+    for (var request = 0; request < 100; request++) {
+      mockMvc.perform(get("/tasks"));
+    }
+    var bytesPerRequest = (threads.getThreadAllocatedBytes(threadId) - beforeRequests) / 100;
+    // then
+    assertThat(eventBytes).isLessThan(levelCheckBytes + 1024);
+    assertThat(bytesPerRequest).isLessThan(512 * 1024);
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void record_layer_events_and_break_down_request_latency_by_layer() throws Exception {
+    // given
+    addSampleUser();
+    var requestBody = toJson(new CreateTaskHttpDTO("content", TaskPriorityDTO.LOW, TaskStatusDTO.UNDONE));
+    var recordingFile = Files.createTempFile("layers-", ".jfr");
+    // when
+    try (var recording = new Recording()) {
+      recording.enable(LayerEvent.NAME).withThreshold(Duration.ZERO);
+      recording.start();
+      mockMvc
+              .perform(post("/tasks").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+              .andExpect(status().isCreated());
+      mockMvc.perform(get("/tasks")).andExpect(status().isOk());
+      recording.stop();
+      recording.dump(recordingFile);
+    }
+    // then
+    var breakdown = LayerBreakdown.of(recordingFile, "POST /tasks");
+    Files.delete(recordingFile);
+    assertThat(breakdown)
+            .extracting(LayerStatsDTO::layer)
+            .contains("http", "controller", "facade", "repository", "database");
+    assertThat(breakdown.stream().mapToDouble(LayerStatsDTO::selfShare).sum()).isCloseTo(1.0, within(1e-6));
+  }
+
+  @Test
+  void share_one_layer_event_while_no_recording_is_running() {
+    // when
+    var first = LayerEvent.start("http", "GET");
+    var second = LayerEvent.start("database", "executeQuery");
+    first.finish();
+    second.finish();
+    // then
+    assertThat(first).isSameAs(second);
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void read_tasks_with_at_most_one_query_and_return_200() throws Exception {
+    // given
+    addSampleUser();
+    addSampleTask();
+    addSampleTask();
+    // when
+    var resultActions = mockMvc.perform(get("/tasks"));
+    // then
+    resultActions
+            .andExpect(request().attribute(STATEMENTS_ATTRIBUTE, lessThanOrEqualTo(1L)))
+            .andExpect(status().isOk());
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  @Transactional
+  void read_tasks_page_by_cursor_and_return_200() throws Exception {
+    // given
+    addSampleUser();
+    var firstTask = addSampleTask();
+    var secondTask = addSampleTask();
+    var thirdTask = addSampleTask();
+    // when
+    var firstPage = mockMvc.perform(get("/tasks?size=2"));
+    var secondPage = mockMvc.perform(get("/tasks?size=2&cursor=" + secondTask.id()));
+    // then
+    firstPage
+            .andExpect(content().string(toJson(List.of(firstTask, secondTask))))
+            .andExpect(header().string("X-Next-Cursor", secondTask.id().toString()))
+            .andExpect(status().isOk());
+    secondPage
+            .andExpect(content().string(toJson(List.of(thirdTask))))
+            .andExpect(header().doesNotExist("X-Next-Cursor"))
+            .andExpect(status().isOk());
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void stream_tasks_as_ndjson_and_return_200() throws Exception {
+    // given
+    addSampleUser();
+    var firstTask = addSampleTask();
+    var secondTask = addSampleTask();
+    // when
+    var mvcResult = mockMvc
+            .perform(get("/tasks").accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    var resultActions = mockMvc.perform(asyncDispatch(mvcResult));
+    // then
+    resultActions
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(toJson(firstTask) + "\n" + toJson(secondTask) + "\n"))
+            .andExpect(status().isOk());
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void export_tasks_as_gzipped_csv_and_return_200() throws Exception {
+    // given
+    addSampleUser();
+    var firstTask = addSampleTask();
+    var secondTask = addSampleTask();
+    // when
+    var mvcResult = mockMvc
+            .perform(get("/tasks/export").param("format", "csv").param("compress", "gzip"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    var resultActions = mockMvc.perform(asyncDispatch(mvcResult));
+    // then
+    var body = resultActions
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("tasks.csv")))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+    try (var inputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      var lines = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).split("\r\n");
+      assertThat(lines).containsExactly(
+              "id,content,priority,status,creationDate,version",
+              toCsv(firstTask),
+              toCsv(secondTask));
+    }
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void export_tasks_in_unknown_format_and_return_400() throws Exception {
+    // given
+    addSampleUser();
+    // when
+    var resultActions = mockMvc.perform(get("/tasks/export").param("format", "xml"));
+    // then
+    resultActions.andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void not_skip_changes_committed_after_overlapping_change_of_same_owner() throws Exception {
+    // given
+    addSampleUser();
+    var firstTask = addSampleTask();
+    var secondTask = addSampleTask();
+    var cursor = taskFacade.readTaskChanges(new ReadTaskChangesDTO("user1", 0, 100)).cursor();
+    var transaction = new TransactionTemplate(transactionManager);
+    var firstChanged = new CountDownLatch(1);
+    var commitFirst = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(2);
+    // when
+    var first = executor.submit(() -> transaction.executeWithoutResult(status -> {
+      taskFacade.changeTaskContent(new ChangeTaskContentDTO(firstTask.id(), "first", "user1"));
+      firstChanged.countDown();
+      awaitUninterruptibly(commitFirst);
+    }));
+    firstChanged.await(1, TimeUnit.MINUTES);
+    var second = executor.submit(() -> transaction.executeWithoutResult(status ->
+            taskFacade.changeTaskContent(new ChangeTaskContentDTO(secondTask.id(), "second", "user1"))));
+    Thread.sleep(500);
+    var changesWhileFirstIsOpen = taskFacade.readTaskChanges(new ReadTaskChangesDTO("user1", cursor, 100));
+    commitFirst.countDown();
+    first.get(1, TimeUnit.MINUTES);
+    second.get(1, TimeUnit.MINUTES);
+    executor.shutdown();
+    var changesAfterCommit = taskFacade.readTaskChanges(
+            new ReadTaskChangesDTO("user1", changesWhileFirstIsOpen.cursor(), 100));
+    // then
+    assertThat(changesWhileFirstIsOpen.changed()).isEmpty();
+    assertThat(changesAfterCommit.changed())
+            .extracting(TaskViewDTO::id)
+            .containsExactly(firstTask.id(), secondTask.id());
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void read_only_tasks_changed_or_removed_since_cursor_and_return_200() throws Exception {
+    // given
+    addSampleUser();
+    var changedTask = addSampleTask();
+    var removedTask = addSampleTask();
+    addSampleTask();
+    var cursor = taskFacade.readTaskChanges(new ReadTaskChangesDTO("user1", 0, 100)).cursor();
+    taskFacade.changeTaskContent(new ChangeTaskContentDTO(changedTask.id(), "newContent", "user1"));
+    taskFacade.removeTask(new RemoveTaskDTO(removedTask.id(), "user1"));
+    // when
+    var resultActions = mockMvc.perform(get("/tasks/changes").param("since", String.valueOf(cursor)));
+    // then
+    var nextCursor = taskFacade.readTaskChanges(new ReadTaskChangesDTO("user1", cursor, 100)).cursor();
+    assertThat(nextCursor).isGreaterThan(cursor);
+    assertThat(taskFacade.readTaskChanges(new ReadTaskChangesDTO("user1", nextCursor, 100)))
+            .isEqualTo(new TaskChangesDTO(List.of(), List.of(), nextCursor, false));
+    resultActions
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.changed.length()").value(1))
+            .andExpect(jsonPath("$.changed[0].id").value(changedTask.id()))
+            .andExpect(jsonPath("$.changed[0].content").value("newContent"))
+            .andExpect(jsonPath("$.removed.length()").value(1))
+            .andExpect(jsonPath("$.removed[0]").value(removedTask.id()))
+            .andExpect(jsonPath("$.cursor").value(nextCursor))
+            .andExpect(jsonPath("$.hasMore").value(false));
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  @Transactional
+  void read_filtered_and_sorted_tasks_and_return_200() throws Exception {
+    // given
+    addSampleUser();
+    var lowDoneTask = addSampleTask(TaskPriorityDTO.LOW, TaskStatusDTO.DONE);
+    var highDoneTask = addSampleTask(TaskPriorityDTO.HIGH, TaskStatusDTO.DONE);
+    var highUndoneTask = addSampleTask(TaskPriorityDTO.HIGH, TaskStatusDTO.UNDONE);
+    // when
+    var doneTasks = mockMvc.perform(get("/tasks/filter?status=DONE&sortBy=ID&direction=DESC"));
+    var highPriorityTasks = mockMvc.perform(get("/tasks/filter?priority=HIGH"));
+    // then
+    doneTasks
+            .andExpect(content().string(toJson(List.of(highDoneTask, lowDoneTask))))
+            .andExpect(status().isOk());
+    highPriorityTasks
+            .andExpect(content().string(toJson(List.of(highDoneTask, highUndoneTask))))
+            .andExpect(status().isOk());
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  @Transactional
+  void return_empty_page_when_filtered_page_is_beyond_last_task_and_return_200() throws Exception {
+    // given
+    addSampleUser();
+    addSampleTask();
+    // when
+    var resultActions = mockMvc.perform(get("/tasks/filter?page=" + Integer.MAX_VALUE + "&size=1000"));
+    // then
+    resultActions
+            .andExpect(content().string(toJson(List.of())))
+            .andExpect(status().isOk());
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void search_tasks_by_content_and_return_200() throws Exception {
+    // given
+    addSampleUser();
+    var shoppingTask = addSampleTask("buy milk and bread");
+    var farmTask = addSampleTask("milk the cow, then milk the goat");
+    addSampleTask("write a report");
+    // when
+    var resultActions = mockMvc.perform(get("/tasks/search?q=Milk"));
+    // then
+    resultActions
+            .andExpect(content().string(toJson(List.of(farmTask, shoppingTask))))
+            .andExpect(status().isOk());
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void serve_repeated_reads_from_cache_until_task_changes() {
+    // given
+    addSampleUser();
+    var sampleTask = addSampleTask();
+    var statsBefore = taskFacade.readTaskCacheStats();
+    // when
+    readSampleTask(sampleTask.id());
+    readSampleTask(sampleTask.id());
+    taskFacade.changeTaskPriority(new ChangeTaskPriorityDTO(sampleTask.id(), "HIGH", "user1"));
+    var changedTask = readSampleTask(sampleTask.id()).get();
+    // then
+    var statsAfter = taskFacade.readTaskCacheStats();
+    assertThat(statsAfter.hitCount() - statsBefore.hitCount()).isEqualTo(1);
+    assertThat(statsAfter.missCount() - statsBefore.missCount()).isEqualTo(2);
+    assertThat(changedTask.priority()).isEqualTo("HIGH");
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void drop_cached_reads_of_owner_when_task_changes() {
+    // given
+    addSampleUser();
+    var sampleTask = addSampleTask();
+    var statsBefore = taskFacade.readTaskCacheStats();
+    readSampleTask(sampleTask.id());
+    // when
+    taskFacade.changeTaskPriority(new ChangeTaskPriorityDTO(sampleTask.id(), "HIGH", "user1"));
+    // then
+    var statsAfter = taskFacade.readTaskCacheStats();
+    assertThat(statsAfter.estimatedSize()).isEqualTo(statsBefore.estimatedSize());
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  @Transactional
+  void return_304_for_unchanged_tasks_and_200_after_change() throws Exception {
+    // given
+    addSampleUser();
+    var sampleTask = addSampleTask();
+    var eTag = mockMvc
+            .perform(get("/tasks"))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    var taskETag = mockMvc
+            .perform(get("/tasks/" + sampleTask.id()))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    // when
+    var unchangedTasks = mockMvc.perform(get("/tasks").header(HttpHeaders.IF_NONE_MATCH, eTag));
+    var unchangedTask = mockMvc.perform(get("/tasks/" + sampleTask.id()).header(HttpHeaders.IF_NONE_MATCH, taskETag));
+    addSampleTask();
+    var changedTasks = mockMvc.perform(get("/tasks").header(HttpHeaders.IF_NONE_MATCH, eTag));
+    // then
+    assertThat(eTag).isNotBlank();
+    unchangedTasks.andExpect(status().isNotModified());
+    unchangedTask.andExpect(status().isNotModified());
+    changedTasks.andExpect(status().isOk());
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void read_task_stats_and_return_200() throws Exception {
+    // given
+    addSampleUser();
+    addSampleTask(TaskPriorityDTO.LOW, TaskStatusDTO.DONE);
+    addSampleTask(TaskPriorityDTO.HIGH, TaskStatusDTO.UNDONE);
+    var changedTask = addSampleTask(TaskPriorityDTO.HIGH, TaskStatusDTO.UNDONE);
+    taskFacade.changeTaskStatus(new ChangeTaskStatusDTO(changedTask.id(), "DONE", "user1"));
+    var expectedStats = new TaskStatsDTO(
+            3,
+            Map.of("UNDONE", 1L, "DONE", 2L),
+            Map.of("LOW", 1L, "MEDIUM", 0L, "HIGH", 2L));
+    // when
+    var resultActions = mockMvc.perform(get("/tasks/stats"));
+    // then
+    resultActions
+            .andExpect(content().json(toJson(expectedStats)))
+            .andExpect(status().isOk());
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  @Transactional
+  void save_tasks_to_text_file_and_return_200() throws Exception {
+    // given
+    addSampleUser();
+    addSampleTask("first");
+    addSampleTask("second");
+    var file = Path.of("user1", "export.txt");
+    // when
+    var resultActions = mockMvc.perform(post("/tasks/textFile?fileName=export"));
+    // then
+    try {
+      resultActions
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.tasks").value(2));
+      assertThat(Files.readString(file))
+              .contains("content=first")
+              .contains("content=second");
+    } finally {
+      Files.deleteIfExists(file);
+      Files.deleteIfExists(file.getParent());
+    }
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void reject_text_file_name_leaving_user_directory_with_400() throws Exception {
+    // given
+    addSampleUser();
+    addSampleTask();
+    // when
+    var toOtherUser = mockMvc.perform(post("/tasks/textFile?fileName=../user2/export"));
+    var toParent = mockMvc.perform(post("/tasks/textFile?fileName=../../export"));
+    // then
+    toOtherUser.andExpect(status().isBadRequest());
+    toParent.andExpect(status().isBadRequest());
+    assertThat(Path.of("user2", "export.txt")).doesNotExist();
+    assertThat(Path.of("..", "export.txt")).doesNotExist();
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void export_tasks_in_background_and_download_file() throws Exception {
+    // given
+    addSampleUser();
+    addSampleTask("first");
+    addSampleTask("second");
+    // when
+    var exportId = JsonPath.<String>read(mockMvc
+            .perform(post("/tasks/exports"))
+            .andExpect(status().isAccepted())
+            .andReturn()
+            .getResponse()
+            .getContentAsString(), "$.id");
+    var exportStatus = "QUEUED";
+    for (var attempt = 0; attempt < 50 && !exportStatus.equals("DONE"); attempt++) {
+      Thread.sleep(100);
+      exportStatus = JsonPath.read(mockMvc
+              .perform(get("/tasks/exports/" + exportId))
+              .andReturn()
+              .getResponse()
+              .getContentAsString(), "$.status");
+    }
+    var download = mockMvc.perform(get("/tasks/exports/" + exportId + "/file"));
+    // then
+    assertThat(exportStatus).isEqualTo("DONE");
+    download
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("content=first")))
+            .andExpect(content().string(containsString("content=second")));
+  }
+
   private void addSampleUser() {
     var registerUserDTO = new RegisterUserDTO("user1", "12345");
     userFacade.registerUser(registerUserDTO);
   }
 
+  private static void logDebugEventsWithPrimitiveValues(EventLog events, int count) {
+    for (var index = 0; index < count; index++) {
+      events.debug("tasks.read", "status", 200 + index % 300);
+      events.debug("tasks.read", "username", "user1", "status", 200 + index % 300);
+    }
+  }
+
+  private static void checkDebugLevel(EventLog events, int count) {
+    for (var index = 0; index < count; index++) {
+      events.isDebugEnabled();
+      events.isDebugEnabled();
+    }
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   private TaskViewDTO addSampleTask() {
-    var dto = new CreateTaskDTO("content", TaskPriorityDTO.LOW, TaskStatusDTO.UNDONE, "user1");
+    return addSampleTask(TaskPriorityDTO.LOW, TaskStatusDTO.UNDONE);
+  }
+
+  private TaskViewDTO addSampleTask(TaskPriorityDTO priority, TaskStatusDTO status) {
+    var dto = new CreateTaskDTO("content", priority, status, "user1");
     return taskFacade.createTask(dto).get();
   }
 
+  private TaskViewDTO addSampleTask(String content) {
+    var dto = new CreateTaskDTO(content, TaskPriorityDTO.LOW, TaskStatusDTO.UNDONE, "user1");
+    return taskFacade.createTask(dto).get();
+  }
+
+  private void appendToSampleTaskContent(Long id, String suffix) {
+    while (true) {
+      var task = readSampleTask(id).get();
+      var dto = new ChangeTaskContentDTO(id, task.content() + suffix, "user1", task.version());
+      var result = taskFacade.changeTaskContent(dto);
+      if (result.isRight()) {
+        return;
+      }
+      assertThat(result.getLeft()).isInstanceOf(TaskVersionMismatchError.class);
+    }
+  }
+
   private Option<TaskViewDTO> readSampleTask(Long id) {
     var readTaskByOwnerUsernameAndIdDTO = new ReadTaskByOwnerUsernameAndIdDTO("user1", id);
     return taskFacade.readTaskByIdAndOwnerUsername(readTaskByOwnerUsernameAndIdDTO);
@@ -226,4 +1052,13 @@ class TaskE2eTests {
     return "c".repeat(MAX_TASK_CONTENT_LENGTH + 1);
   }
 
+  private static String toCsv(TaskViewDTO task) {
+    return String.join(",",
+            task.id().toString(),
+            task.content(),
+            task.priority(),
+            task.status(),
+            task.creationDate(),
+            task.version().toString());
+  }
 }
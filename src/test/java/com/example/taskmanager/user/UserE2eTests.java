@@ -2,6 +2,7 @@ package com.example.taskmanager.user;
 
 import com.example.taskmanager.user.domain.UserFacade;
 import com.example.taskmanager.user.domain.dto.ChangeUserPasswordDTO;
+import com.example.taskmanager.user.domain.dto.ChangeUserStatusDTO;
 import com.example.taskmanager.user.domain.dto.RegisterUserDTO;
 import com.example.taskmanager.user.domain.dto.UserStatusDTO;
 import com.example.taskmanager.user.domain.dto.UserViewDTO;
@@ -17,17 +18,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static com.example.taskmanager.TestUtils.toJson;
+import static com.example.taskmanager.shared.sql.SqlStatistics.STATEMENTS_ATTRIBUTE;
 import static com.example.taskmanager.user.domain.UserFacade.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -37,6 +46,8 @@ class UserE2eTests {
   private MockMvc mockMvc;
   @Autowired
   private UserFacade userFacade;
+  @Autowired
+  private PlatformTransactionManager transactionManager;
 
   @AfterEach
   void clearDb() {
@@ -146,6 +157,21 @@ class UserE2eTests {
     resultActions.andExpect(status().isNoContent());
   }
 
+  @Test
+  @WithMockUser(username = "user1")
+  void remove_user_in_background_and_return_202() throws Exception {
+    // given
+    var sampleUser= addSampleUser();
+    // when
+    var resultActions = mockMvc.perform(delete("/user?async=true"));
+    // then
+    resultActions.andExpect(status().isAccepted());
+    for (var attempt = 0; attempt < 50 && readSampleUser(sampleUser.username()).isDefined(); attempt++) {
+      Thread.sleep(100);
+    }
+    assertThat(readSampleUser(sampleUser.username())).isEmpty();
+  }
+
   @Test
   @WithMockUser(username = "MainAdmin", authorities = "ADMIN")
   void return_users_and_200() throws Exception {
@@ -187,11 +213,92 @@ class UserE2eTests {
     resultActions.andExpect(status().isNotFound());
   }
 
+  @Test
+  @WithMockUser(username = "MainAdmin", authorities = "ADMIN")
+  void change_event_log_level_and_return_204() throws Exception {
+    // when
+    var resultActions = mockMvc.perform(put("/logging/events/task.facade?level=DEBUG"));
+    // then
+    resultActions.andExpect(status().isNoContent());
+    mockMvc
+            .perform(get("/logging/events"))
+            .andExpect(jsonPath("$['task.facade']").value("DEBUG"))
+            .andExpect(status().isOk());
+    mockMvc.perform(put("/logging/events/task.facade?level=INFO"));
+  }
+
+  @Test
+  @WithMockUser(username = "user1")
+  void return_403_when_common_user_changes_event_log_level() throws Exception {
+    // when
+    var resultActions = mockMvc.perform(put("/logging/events/task.facade?level=DEBUG"));
+    // then
+    resultActions.andExpect(status().isForbidden());
+  }
+
+  @Test
+  void authenticate_repeated_requests_without_reading_users_table() throws Exception {
+    // given
+    addSampleUser();
+    var session = login("user1", "12345");
+    mockMvc.perform(get("/tasks").session(session)).andExpect(status().isOk());
+    // when
+    var resultActions = mockMvc.perform(get("/tasks").session(session));
+    // then
+    resultActions
+            .andExpect(request().attribute(STATEMENTS_ATTRIBUTE, 0L))
+            .andExpect(status().isOk());
+  }
+
+  @Test
+  void lose_access_at_once_when_user_is_banned() throws Exception {
+    // given
+    addSampleUser();
+    var session = login("user1", "12345");
+    mockMvc.perform(get("/tasks").session(session)).andExpect(status().isOk());
+    // when
+    userFacade.changeUserStatus(new ChangeUserStatusDTO("user1", UserStatusDTO.BANNED));
+    var resultActions = mockMvc.perform(get("/tasks").session(session));
+    // then
+    resultActions.andExpect(status().isUnauthorized());
+    mockMvc
+            .perform(post("/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(toJson(Map.of("username", "user1", "password", "12345"))))
+            .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void drop_auth_entry_cached_while_ban_was_uncommitted() {
+    // given
+    addSampleUser();
+    var transaction = new TransactionTemplate(transactionManager);
+    // when
+    transaction.executeWithoutResult(status -> {
+      userFacade.changeUserStatus(new ChangeUserStatusDTO("user1", UserStatusDTO.BANNED));
+      CompletableFuture.supplyAsync(() -> userFacade.getUserAuthDTO("user1")).join();
+    });
+    var userAuth = userFacade.getUserAuthDTO("user1");
+    // then
+    assertThat(userAuth.get().status()).isEqualTo(UserStatusDTO.BANNED.name());
+  }
+
   private UserViewDTO addSampleUser() {
     var registerUserDTO = new RegisterUserDTO("user1", "12345");
     return userFacade.registerUser(registerUserDTO).get();
   }
 
+  private MockHttpSession login(String username, String password) throws Exception {
+    return (MockHttpSession) mockMvc
+            .perform(post("/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(toJson(Map.of("username", username, "password", password))))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getRequest()
+            .getSession();
+  }
+
   private Option<UserViewDTO> readSampleUser(String username) {
     return userFacade.readUserByUsername(username);
   }